@@ -0,0 +1,45 @@
+package dev.realsgii2.temperatures;
+
+import dev.realsgii2.temperatures.registry.determinants.BenchmarkWorlds;
+import net.minecraft.core.Holder;
+import net.minecraft.world.level.biome.Biome;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures weighing the 64 biome samples taken around a position, using biome holders like the ones levels return,
+ * so samples are hashed and compared the same way.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UtilBenchmark {
+    /**
+     * The amount of distinct biomes around the position.
+     */
+    @Param({"1", "4", "16"})
+    public int biomes;
+
+    private List<Holder<Biome>> samples;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(0);
+        List<Holder<Biome>> distinct = BenchmarkWorlds.biomes(biomes);
+
+        samples = new ArrayList<>();
+        for (int i = 0; i < 64; i++) samples.add(distinct.get(random.nextInt(biomes)));
+    }
+
+    @Benchmark
+    public List<Util.Pair<Holder<Biome>, Double>> getWeights() {
+        return Util.World.getWeights(samples);
+    }
+}
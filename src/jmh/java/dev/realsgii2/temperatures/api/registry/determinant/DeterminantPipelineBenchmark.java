@@ -0,0 +1,69 @@
+package dev.realsgii2.temperatures.api.registry.determinant;
+
+import dev.realsgii2.temperatures.api.world.TemperatureWorldView;
+import dev.realsgii2.temperatures.registry.determinants.BenchmarkWorlds;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures folding the results of determinants, using synthetic determinants that don't read the world
+ * so only the cost of the pipeline itself is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DeterminantPipelineBenchmark {
+    /**
+     * The amount of determinants, including those added by other mods.
+     */
+    @Param({"5", "20"})
+    public int determinants;
+
+    /**
+     * Whether one of the determinants overrides the result, as the Nether and ice water do.
+     */
+    @Param({"false", "true"})
+    public boolean overridden;
+
+    private TemperatureWorldView view;
+    private DeterminantPipeline pipeline;
+
+    @Setup
+    public void setup() {
+        // None of the synthetic determinants read the world, so it is left empty.
+        view = BenchmarkWorlds.create(0, false);
+
+        List<IDeterminant> list = new ArrayList<>();
+
+        for (int i = 0; i < determinants; i++)
+            list.add(new SyntheticDeterminant((i % 5 - 2) * 0.25, IDeterminant.NO_OVERRIDE, i % 3 - 1));
+
+        if (overridden)
+            list.set(determinants / 2, new SyntheticDeterminant(3.0, 100, IDeterminant.NO_ORDER));
+
+        pipeline = new DeterminantPipeline(list);
+    }
+
+    @Benchmark
+    public double compute() {
+        return pipeline.compute(view);
+    }
+
+    private record SyntheticDeterminant(double offset, int priority, int order) implements IDeterminant {
+        @Override
+        public double getTemperature(TemperatureWorldView view, double current) {
+            return current + offset;
+        }
+
+        @Override
+        public int overridePriority(TemperatureWorldView view, double oldResult, double newResult) {
+            return priority;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package dev.realsgii2.temperatures.api.registry.determinant;
+
+import dev.realsgii2.temperatures.registry.determinants.BenchmarkWorlds;
+import dev.realsgii2.temperatures.registry.determinants.DeterminantBenchmark;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures folding every determinant of the mod against a world kept in memory, as the registry does for a player.
+ * See {@link DeterminantBenchmark} for the cost of each determinant on its own.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DeterminantRegistryBenchmark {
+    private List<IDeterminant> determinants;
+    private DeterminantPipeline pipeline;
+
+    @Setup
+    public void setup() {
+        determinants = BenchmarkWorlds.determinants();
+        pipeline = new DeterminantPipeline(determinants);
+    }
+
+    /**
+     * Folds every determinant, compiling the pipeline like
+     * {@link DeterminantRegistry#compute(dev.realsgii2.temperatures.api.world.TemperatureWorldView, List)}.
+     */
+    @Benchmark
+    public double compute(BenchmarkWorlds.Fixture world) {
+        return DeterminantRegistry.compute(world.view, determinants);
+    }
+
+    /**
+     * Folds every determinant through a pipeline compiled once, like the registry's own pipelines.
+     */
+    @Benchmark
+    public double computeCompiled(BenchmarkWorlds.Fixture world) {
+        return pipeline.compute(world.view);
+    }
+}
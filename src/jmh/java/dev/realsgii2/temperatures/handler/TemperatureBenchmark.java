@@ -0,0 +1,27 @@
+package dev.realsgii2.temperatures.handler;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures determining a resistance from the effects and enchantments providing it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TemperatureBenchmark {
+    @Param({"-1", "0", "1"})
+    public int effectAmplifier;
+
+    @Param({"0", "2", "4"})
+    public int enchantedArmor;
+
+    @Benchmark
+    public double getResistance() {
+        return Temperature.getResistance(effectAmplifier, enchantedArmor);
+    }
+}
@@ -0,0 +1,58 @@
+package dev.realsgii2.temperatures.handler;
+
+import dev.realsgii2.temperatures.api.registry.determinant.DeterminantPipeline;
+import dev.realsgii2.temperatures.api.registry.determinant.IDeterminant;
+import dev.realsgii2.temperatures.registry.determinants.AmbientDeterminant;
+import dev.realsgii2.temperatures.registry.determinants.BenchmarkWorlds;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures capturing the snapshot of a player whose caches are filled, through the same pipelines and caches a
+ * player is captured with every tick. Run with the GC profiler (as `./gradlew jmh` does): once warmed up, the only
+ * allocation per operation should be the snapshot itself.
+ * <p>
+ * Worlds kept in memory aren't server levels, so the {@link dev.realsgii2.temperatures.handler.world.LocationCache}
+ * isn't used.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TemperatureSnapshotBenchmark {
+    /**
+     * Whether the player's cache is reset before every capture, so every determinant runs again as it does after
+     * the player moves.
+     */
+    @Param({"false", "true"})
+    public boolean moved;
+
+    private final ResistanceCache.Resistances resistances = new ResistanceCache.Resistances(0, 0.0, 0.0, false, false);
+
+    private DeterminantPipeline all;
+    private DeterminantPipeline withoutAmbient;
+    private TemperatureSnapshot.Caches caches;
+    private int tickCount = 0;
+
+    @Setup
+    public void setup() {
+        List<IDeterminant> determinants = BenchmarkWorlds.determinants();
+        all = new DeterminantPipeline(determinants);
+        withoutAmbient = new DeterminantPipeline(determinants.stream()
+                .filter(determinant -> !(determinant instanceof AmbientDeterminant))
+                .toList());
+        caches = new TemperatureSnapshot.Caches();
+    }
+
+    @Benchmark
+    public TemperatureSnapshot capture(BenchmarkWorlds.Fixture world) {
+        // Every setter changes the stamps of the view, so no cached result can be reused.
+        if (moved) world.view.setPosition(BenchmarkWorlds.POSITION);
+
+        return TemperatureSnapshot.capture(world.view, all, withoutAmbient, caches, tickCount++, resistances, false);
+    }
+}
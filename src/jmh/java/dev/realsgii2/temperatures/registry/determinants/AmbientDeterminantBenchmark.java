@@ -0,0 +1,24 @@
+package dev.realsgii2.temperatures.registry.determinants;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures combining the warmth of the blocks around a player with {@link AmbientDeterminant}, against a world kept
+ * in memory. Worlds kept in memory have no warm block index, so every position around the player is checked.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AmbientDeterminantBenchmark {
+    private final AmbientDeterminant determinant = new AmbientDeterminant();
+
+    @Benchmark
+    public double getTemperature(BenchmarkWorlds.Fixture world) {
+        return determinant.getTemperature(world.view, 0.0);
+    }
+}
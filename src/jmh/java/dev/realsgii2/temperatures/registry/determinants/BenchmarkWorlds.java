@@ -0,0 +1,132 @@
+package dev.realsgii2.temperatures.registry.determinants;
+
+import dev.realsgii2.temperatures.api.registry.determinant.IDeterminant;
+import dev.realsgii2.temperatures.api.world.InMemoryWorldView;
+import net.minecraft.SharedConstants;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Holder;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.world.level.biome.Biome;
+import net.minecraft.world.level.biome.BiomeGenerationSettings;
+import net.minecraft.world.level.biome.BiomeSpecialEffects;
+import net.minecraft.world.level.biome.MobSpawnSettings;
+import net.minecraft.world.level.block.Blocks;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Builds the synthetic worlds the determinant benchmarks run in.
+ * <p>
+ * Biomes aren't registered, so they have no configured temperature: biome benchmarks measure blending and looking
+ * up the biomes, not the configuration they find.
+ */
+public final class BenchmarkWorlds {
+    /**
+     * The position the temperature is determined at.
+     */
+    public static final BlockPos POSITION = new BlockPos(0, 64, 0);
+
+    static {
+        // Bootstraps the game before anything uses the worlds, so blocks and biomes can be created.
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+    }
+
+    private BenchmarkWorlds() {
+    }
+
+    /**
+     * The world a benchmark runs in, shared by every benchmark of the determinants. Pass it as an argument of a
+     * benchmark method: JMH creates it for every combination of its parameters.
+     */
+    @State(Scope.Benchmark)
+    public static class Fixture {
+        /**
+         * The amount of warm blocks around the position.
+         */
+        @Param({"0", "8", "32"})
+        public int warmBlocks;
+
+        /**
+         * Whether the position is in water, which lets the ice water determinant override a cold result.
+         */
+        @Param({"false", "true"})
+        public boolean inWater;
+
+        public InMemoryWorldView view;
+
+        @Setup
+        public void setup() {
+            view = create(warmBlocks, inWater);
+        }
+    }
+
+    /**
+     * Gets every determinant the mod registers, in the order they're registered.
+     */
+    public static List<IDeterminant> determinants() {
+        return List.of(new AmbientDeterminant(), new BiomeDeterminant(), new DimensionDeterminant(),
+                new IceWaterDeterminant(), new WeatherDeterminant());
+    }
+
+    /**
+     * Creates a rainy world of four biomes, with warm blocks scattered around the position.
+     * @param warmBlocks The amount of warm blocks around the position.
+     * @param inWater Whether the position is in water.
+     */
+    public static InMemoryWorldView create(int warmBlocks, boolean inWater) {
+        Holder<Biome> plains = biome(0.8F);
+        InMemoryWorldView view = new InMemoryWorldView(POSITION, plains)
+                .setDayTime(6000)
+                .setRainLevel(1.0F)
+                .setInWater(inWater);
+
+        // Biomes change every 16 blocks, so blending around the position mixes all of them.
+        List<Holder<Biome>> biomes = List.of(plains, biome(0.0F), biome(2.0F), biome(0.5F));
+        for (int x = -32; x < 32; x += 4)
+            for (int z = -32; z < 32; z += 4)
+                for (int y = 48; y < 80; y += 4)
+                    view.setBiome(new BlockPos(x, y, z), biomes.get((x >> 4 & 1) * 2 + (z >> 4 & 1)));
+
+        Random random = new Random(0);
+        for (int i = 0; i < warmBlocks; i++)
+            view.setBlockState(POSITION.offset(random.nextInt(7) - 3, random.nextInt(3) - 1, random.nextInt(7) - 3),
+                    random.nextBoolean() ? Blocks.FIRE.defaultBlockState() : Blocks.CAMPFIRE.defaultBlockState());
+
+        return view;
+    }
+
+    /**
+     * Creates distinct biomes, with temperatures spread from 0 to 2.
+     * @param count The amount of biomes to create.
+     */
+    public static List<Holder<Biome>> biomes(int count) {
+        List<Holder<Biome>> biomes = new ArrayList<>();
+        for (int i = 0; i < count; i++) biomes.add(biome(2.0F * i / count));
+
+        return biomes;
+    }
+
+    private static Holder<Biome> biome(float temperature) {
+        return Holder.direct(new Biome.BiomeBuilder()
+                .hasPrecipitation(true)
+                .temperature(temperature)
+                .downfall(0.5F)
+                .specialEffects(new BiomeSpecialEffects.Builder()
+                        .fogColor(0xC0D8FF)
+                        .waterColor(0x3F76E4)
+                        .waterFogColor(0x050533)
+                        .skyColor(0x78A7FF)
+                        .build())
+                .mobSpawnSettings(MobSpawnSettings.EMPTY)
+                .generationSettings(BiomeGenerationSettings.EMPTY)
+                .build());
+    }
+}
@@ -0,0 +1,40 @@
+package dev.realsgii2.temperatures.registry.determinants;
+
+import dev.realsgii2.temperatures.api.registry.determinant.IDeterminant;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures running each determinant of the mod on its own, against a world kept in memory.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DeterminantBenchmark {
+    @Param({"biome", "weather", "dimension", "ice_water", "ambient"})
+    public String determinant;
+
+    private IDeterminant instance;
+
+    @Setup
+    public void setup() {
+        instance = switch (determinant) {
+            case "biome" -> new BiomeDeterminant();
+            case "weather" -> new WeatherDeterminant();
+            case "dimension" -> new DimensionDeterminant();
+            case "ice_water" -> new IceWaterDeterminant();
+            case "ambient" -> new AmbientDeterminant();
+            default -> throw new IllegalArgumentException("Unknown determinant: " + determinant);
+        };
+    }
+
+    @Benchmark
+    public double getTemperature(BenchmarkWorlds.Fixture world) {
+        // A cold result, so the ice water determinant overrides it in water.
+        return instance.getTemperature(world.view, -1.5);
+    }
+}
@@ -1,17 +1,25 @@
 package dev.realsgii2.temperatures;
 
+import dev.realsgii2.temperatures.api.registry.determinant.DeterminantProfile;
 import dev.realsgii2.temperatures.gui.boilerplate.GuiVector;
+import dev.realsgii2.temperatures.handler.world.BiomeTable;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.biome.Biome;
 import net.minecraftforge.common.ForgeConfigSpec;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.ModLoadingContext;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.config.ModConfig;
+import net.minecraftforge.fml.event.config.ModConfigEvent;
 import org.antlr.v4.runtime.misc.Triple;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 // An example config class. This is not required, but it's a good idea to have one to keep your config organized.
@@ -24,6 +32,58 @@ public class Config {
         context.registerConfig(ModConfig.Type.CLIENT, Config.Client.SPEC);
     }
 
+    /**
+     * Captures the current common and server configuration. Configurations that aren't loaded yet
+     * (the server configuration before a world is opened) use their default values.
+     * @param version The version of the new snapshot.
+     */
+    static ConfigSnapshot capture(int version) {
+        List<Util.Pair<String, Double>> warmBlocks = get(Common.SPEC, Common.WARM_BLOCKS).stream()
+                .map(t -> Util.Pair.of((String) t.get(0), Common.toDouble(t.get(1))))
+                .collect(Collectors.toUnmodifiableList());
+
+        List<Common.BiomeData> biomes = get(Common.SPEC, Common.BIOME_TEMPERATURES).stream()
+                .map(t -> new Common.BiomeData((String) t.get(0), Common.toDouble(t.get(1)), Common.toDouble(t.get(2))))
+                .collect(Collectors.toUnmodifiableList());
+
+        Map<String, Common.BiomeData> biomesByName = new HashMap<>();
+        for (Common.BiomeData biome : biomes) biomesByName.putIfAbsent(biome.id(), biome);
+
+        Map<ResourceLocation, DeterminantProfile> profiles = new HashMap<>();
+        for (List<?> entry : get(Common.SPEC, Common.DETERMINANT_PROFILES)) {
+            DeterminantProfile profile = Common.toProfile(entry);
+            if (profile != null) profiles.putIfAbsent(profile.dimension(), profile);
+        }
+
+        return new ConfigSnapshot(
+                version,
+                warmBlocks,
+                biomes,
+                Map.copyOf(biomesByName),
+                get(Common.SPEC, Common.DIFF_IN_RAIN),
+                get(Common.SPEC, Common.DIFF_IN_SNOW),
+                Map.copyOf(profiles),
+                get(Server.SPEC, Server.NORMAL_DAMAGE_TICK_MOD),
+                get(Server.SPEC, Server.EXTREME_DAMAGE_TICK_MOD),
+                get(Server.SPEC, Server.NORMAL_DAMAGE),
+                get(Server.SPEC, Server.EXTREME_DAMAGE),
+                get(Server.SPEC, Server.BURN_TICKS),
+                get(Server.SPEC, Server.MIN_EVALUATION_INTERVAL),
+                get(Server.SPEC, Server.MAX_EVALUATION_INTERVAL),
+                get(Server.SPEC, Server.EVALUATION_BUDGET),
+                get(Server.SPEC, Server.PARALLEL_EVALUATION),
+                get(Server.SPEC, Server.EVALUATION_THREADS),
+                get(Server.SPEC, Server.DETERMINANT_BUDGET),
+                get(Server.SPEC, Server.DETERMINANT_OVERRUN_LIMIT),
+                get(Server.SPEC, Server.DETERMINANT_BYPASS_SECONDS),
+                get(Server.SPEC, Server.LOCATION_CACHE_SIZE)
+        );
+    }
+
+    private static <T> T get(ForgeConfigSpec spec, ForgeConfigSpec.ConfigValue<T> value) {
+        return spec.isLoaded() ? value.get() : value.getDefault();
+    }
+
     @Mod.EventBusSubscriber(modid = TemperaturesMod.MOD_ID, bus = Mod.EventBusSubscriber.Bus.MOD)
     public static class Common {
         private static final ForgeConfigSpec.Builder BUILDER = new ForgeConfigSpec.Builder();
@@ -32,6 +92,8 @@ public class Config {
                 .comment("The biomes with specific temperatures.",
                         "Format: [biomeName, dayTemperature, nightTemperature][]",
                         "  - biomeNameOrTag: A biome name or tag (with namespace) to identify a biome",
+                        "    Tags start with #, for example \"#minecraft:is_ocean\".",
+                        "    Entries naming a biome take priority over tags containing it.",
 
                         "  - day/nightTemperature: A number between inclusively -2 and 3, determining the temperature" +
                                 " " +
@@ -58,6 +120,9 @@ public class Config {
         private static final ForgeConfigSpec.ConfigValue<List<? extends List<?>>> WARM_BLOCKS = BUILDER
                 .comment("Blocks that raise the temperature when the player gets near them.",
                         "Format: [blockName, temperatureDiff][]",
+                        "  - blockName: A block name (with namespace), optionally followed by the states to match",
+                        "    Example: \"minecraft:furnace[lit=true]\"",
+                        "    Entries naming states take priority over entries naming the whole block.",
                         "Default: [[\"minecraft:campfire\", 0.5], [\"minecraft:fire\", 1], [\"minecraft:lava\", 1]]")
                 .defineList("warmBlocks",
                         List.of(List.of("minecraft:campfire", 0.5), List.of("minecraft:fire", 1), List.of("minecraft" +
@@ -68,6 +133,30 @@ public class Config {
                                         && (((List<?>) it).get(1) instanceof Double || ((List<?>) it).get(1) instanceof Integer)
                 );
 
+        private static final ForgeConfigSpec.ConfigValue<List<? extends List<?>>> DETERMINANT_PROFILES = BUILDER
+                .comment("The determinants to run in specific dimensions, and the parameters they run with.",
+                        "Dimensions without a profile run every determinant with their default parameters.",
+                        "Format: [dimension, determinants, parameters][]",
+                        "  - dimension: A dimension name (with namespace)",
+                        "  - determinants: The names of the determinants to run (with namespace)",
+                        "    Built in: temperatures:biome, temperatures:ambient, temperatures:dimension,",
+                        "    temperatures:ice_water, temperatures:weather",
+                        "  - parameters: Optional \"key=value\" pairs",
+                        "    - ambientRadius: How far, in blocks, nearby blocks are checked for warmth (0 to 3)",
+                        "    - biomeSamples: How many biomes are sampled to blend biome temperatures (1 to 64)",
+                        "Example: [",
+                        "  [\"minecraft:the_end\", [\"temperatures:biome\", \"temperatures:dimension\"], []],",
+                        "  [\"minecraft:the_nether\", [\"temperatures:biome\", \"temperatures:ambient\", \"temperatures:dimension\"], [\"biomeSamples=16\"]],",
+                        "]",
+                        "Default: []")
+                .defineList("determinantProfiles", List.of(), it ->
+                        it instanceof List<?> entry
+                                && (entry.size() == 2 || entry.size() == 3)
+                                && entry.get(0) instanceof String
+                                && entry.get(1) instanceof List
+                                && (entry.size() == 2 || entry.get(2) instanceof List)
+                );
+
         private static final ForgeConfigSpec.DoubleValue DIFF_IN_RAIN = BUILDER
                 .comment("The temperature difference when it is raining.",
                         "Default: -0.5")
@@ -81,22 +170,26 @@ public class Config {
 
         static final ForgeConfigSpec SPEC = BUILDER.build();
 
-        private static List<? extends Util.Pair<String, Double>> warmBlocks;
+        /**
+         * Publishes a new {@link ConfigSnapshot} when this or the server configuration is loaded or changed.
+         */
+        @SubscribeEvent
+        public static void onConfigChanged(ModConfigEvent event) {
+            if (event.getConfig().getSpec() != SPEC && event.getConfig().getSpec() != Server.SPEC) return;
+
+            ConfigSnapshot.rebuild();
+        }
 
         public static double getDiffInRain() {
-            return DIFF_IN_RAIN.get();
+            return ConfigSnapshot.get().diffInRain();
         }
 
         public static double getDiffInSnow() {
-            return DIFF_IN_SNOW.get();
+            return ConfigSnapshot.get().diffInSnow();
         }
 
         public static List<? extends Util.Pair<String, Double>> getWarmBlocks() {
-            if (warmBlocks == null)
-                warmBlocks =
-                        WARM_BLOCKS.get().stream().map(t -> Util.Pair.of((String) t.get(0), toDouble(t.get(1)))).collect(Collectors.toList());
-
-            return warmBlocks;
+            return ConfigSnapshot.get().warmBlocks();
         }
 
         private static double toDouble(Object value) {
@@ -110,6 +203,31 @@ public class Config {
             return Double.NaN;
         }
 
+        /**
+         * Parses an entry of determinantProfiles.
+         * @return The profile, or null if the entry doesn't name a valid dimension.
+         */
+        private static DeterminantProfile toProfile(List<?> entry) {
+            ResourceLocation dimension = ResourceLocation.tryParse(String.valueOf(entry.get(0)));
+            if (dimension == null) return null;
+
+            Set<ResourceLocation> determinants = new LinkedHashSet<>();
+            for (Object id : (List<?>) entry.get(1)) {
+                ResourceLocation location = ResourceLocation.tryParse(String.valueOf(id));
+                if (location != null) determinants.add(location);
+            }
+
+            Map<String, String> parameters = new HashMap<>();
+            if (entry.size() > 2) {
+                for (Object parameter : (List<?>) entry.get(2)) {
+                    String[] pair = String.valueOf(parameter).split("=", 2);
+                    if (pair.length == 2) parameters.putIfAbsent(pair[0].trim(), pair[1].trim());
+                }
+            }
+
+            return new DeterminantProfile(dimension, Collections.unmodifiableSet(determinants), Map.copyOf(parameters));
+        }
+
         public static boolean isWarmBlock(String blockName) {
             return getWarmBlocks().stream().anyMatch(pair -> pair.first.equals(blockName));
         }
@@ -123,25 +241,24 @@ public class Config {
         }
 
         public static List<? extends Triple<String, Double, Double>> getBiomeTemperatures() {
-            return BIOME_TEMPERATURES.get().stream().map(t -> new Triple<>((String) t.get(0),
-                    (Double) t.get(1), (Double) t.get(2))).collect(Collectors.toList());
+            return getAllBiomes().stream().map(x -> new Triple<>(x.id(), x.dayTemperature(),
+                    x.nightTemperature())).collect(Collectors.toList());
         }
 
         public static BiomeData getBiome(String biomeName) {
-            Optional<? extends Triple<String, Double, Double>> rawInfo =
-                    getBiomeTemperatures().stream().filter(x -> x.a.equals(biomeName)).findFirst();
-            return rawInfo.map(BiomeData::of).orElse(null);
+            return ConfigSnapshot.get().biomesByName().get(biomeName);
         }
 
+        /**
+         * Gets the configured temperatures of a biome, including those given by a tag containing it.
+         * @return The temperatures of the biome, or null if it isn't configured.
+         */
         public static BiomeData getBiome(Level level, Biome biome) {
-            ResourceLocation biomeId = Util.getBiomeId(level, biome);
-            if (biomeId == null) return null;
-
-            return getBiome(biomeId.toString());
+            return BiomeTable.get(level).get(biome);
         }
 
         public static List<BiomeData> getAllBiomes() {
-            return getBiomeTemperatures().stream().map(BiomeData::of).collect(Collectors.toList());
+            return ConfigSnapshot.get().biomes();
         }
 
         public record BiomeData(String id, double dayTemperature, double nightTemperature) {
@@ -179,24 +296,114 @@ public class Config {
                         "Default: 80")
                 .defineInRange("burnTicks", 80, 1, Integer.MAX_VALUE);
 
+        private static final ForgeConfigSpec.IntValue MIN_EVALUATION_INTERVAL = BUILDER
+                .comment("Recompute the temperature of players in uncomfortable or extreme conditions every X ticks.",
+                        "Damage is still applied on its own cadence, using the latest temperature.",
+                        "Default: 2")
+                .defineInRange("minEvaluationInterval", 2, 1, 1200);
+
+        private static final ForgeConfigSpec.IntValue MAX_EVALUATION_INTERVAL = BUILDER
+                .comment("Recompute the temperature of comfortable players that stay still at least every X ticks.",
+                        "Players are recomputed sooner when they get close to being uncomfortable, move, or change dimension.",
+                        "Default: 40")
+                .defineInRange("maxEvaluationInterval", 40, 1, 1200);
+
+        private static final ForgeConfigSpec.IntValue EVALUATION_BUDGET = BUILDER
+                .comment("The time, in nanoseconds, each dimension may spend recomputing temperatures per tick.",
+                        "Players that don't fit are recomputed in the next ticks. At least one player is always recomputed.",
+                        "Default: 1000000 (1 ms)")
+                .defineInRange("evaluationBudgetNanos", 1_000_000, 0, Integer.MAX_VALUE);
+
+        private static final ForgeConfigSpec.BooleanValue PARALLEL_EVALUATION = BUILDER
+                .comment("Recompute the temperatures of all queued players of a dimension at once, on worker threads,",
+                        "instead of one after another within evaluationBudgetNanos. Helps servers with many players.",
+                        "Default: false")
+                .define("parallelEvaluation", false);
+
+        private static final ForgeConfigSpec.IntValue EVALUATION_THREADS = BUILDER
+                .comment("The number of worker threads used by parallelEvaluation. 0 uses one less than the number of cores.",
+                        "Changes apply after restarting the server.",
+                        "Default: 0")
+                .defineInRange("evaluationThreads", 0, 0, 256);
+
+        private static final ForgeConfigSpec.IntValue DETERMINANT_BUDGET = BUILDER
+                .comment("The time, in nanoseconds, a single determinant may take to run.",
+                        "Determinants over it for determinantOverrunLimit runs in a row are bypassed for determinantBypassSeconds,",
+                        "reusing the last result they gave each player. 0 never bypasses determinants.",
+                        "See how long determinants take with /temperatures determinants.",
+                        "Default: 1000000 (1 ms)")
+                .defineInRange("determinantBudgetNanos", 1_000_000, 0, Integer.MAX_VALUE);
+
+        private static final ForgeConfigSpec.IntValue DETERMINANT_OVERRUN_LIMIT = BUILDER
+                .comment("How many runs in a row a determinant may go over determinantBudgetNanos before it is bypassed.",
+                        "Default: 10")
+                .defineInRange("determinantOverrunLimit", 10, 1, Integer.MAX_VALUE);
+
+        private static final ForgeConfigSpec.IntValue DETERMINANT_BYPASS_SECONDS = BUILDER
+                .comment("How long, in seconds, a determinant over budget is bypassed before it is run again.",
+                        "Default: 30")
+                .defineInRange("determinantBypassSeconds", 30, 1, 86400);
+
+        private static final ForgeConfigSpec.IntValue LOCATION_CACHE_SIZE = BUILDER
+                .comment("How many block positions per dimension share the temperatures computed there between players.",
+                        "Helps when many players stand on the same blocks, such as in farms or hubs. 0 disables sharing.",
+                        "Default: 4096")
+                .defineInRange("locationCacheSize", 4096, 0, 1 << 20);
+
         public static int getNormalDamageTick() {
-            return NORMAL_DAMAGE_TICK_MOD.get();
+            return ConfigSnapshot.get().normalDamageTick();
         }
 
         public static int getExtremeDamageTick() {
-            return EXTREME_DAMAGE_TICK_MOD.get();
+            return ConfigSnapshot.get().extremeDamageTick();
         }
 
         public static int getNormalDamageAmount() {
-            return NORMAL_DAMAGE.get();
+            return ConfigSnapshot.get().normalDamageAmount();
         }
 
         public static int getExtremeDamageAmount() {
-            return EXTREME_DAMAGE.get();
+            return ConfigSnapshot.get().extremeDamageAmount();
         }
 
         public static int getBurnTicks() {
-            return BURN_TICKS.get();
+            return ConfigSnapshot.get().burnTicks();
+        }
+
+        public static int getMinEvaluationInterval() {
+            return ConfigSnapshot.get().minEvaluationInterval();
+        }
+
+        public static int getMaxEvaluationInterval() {
+            return ConfigSnapshot.get().maxEvaluationInterval();
+        }
+
+        public static int getEvaluationBudgetNanos() {
+            return ConfigSnapshot.get().evaluationBudgetNanos();
+        }
+
+        public static boolean isParallelEvaluation() {
+            return ConfigSnapshot.get().parallelEvaluation();
+        }
+
+        public static int getEvaluationThreads() {
+            return ConfigSnapshot.get().evaluationThreads();
+        }
+
+        public static int getDeterminantBudgetNanos() {
+            return ConfigSnapshot.get().determinantBudgetNanos();
+        }
+
+        public static int getDeterminantOverrunLimit() {
+            return ConfigSnapshot.get().determinantOverrunLimit();
+        }
+
+        public static int getDeterminantBypassSeconds() {
+            return ConfigSnapshot.get().determinantBypassSeconds();
+        }
+
+        public static int getLocationCacheSize() {
+            return ConfigSnapshot.get().locationCacheSize();
         }
 
         public static final ForgeConfigSpec SPEC = BUILDER.build();
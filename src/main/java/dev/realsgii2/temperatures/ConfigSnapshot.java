@@ -0,0 +1,84 @@
+package dev.realsgii2.temperatures;
+
+import dev.realsgii2.temperatures.api.registry.determinant.DeterminantProfile;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraftforge.event.TagsUpdatedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable capture of the common and server configuration, so hot paths read plain fields
+ * instead of going through {@link net.minecraftforge.common.ForgeConfigSpec} on every call.
+ * <p>
+ * A new snapshot is captured and published whenever a configuration is loaded or reloaded, and
+ * whenever datapacks are reloaded. Caches derived from the configuration (or from tags) remember the
+ * {@link #version()} they were built from and rebuild themselves once it changes.
+ *
+ * @param version                  A number identifying this snapshot; every published snapshot has a higher version.
+ * @param warmBlocks               The configured warm blocks and their warmth, in the order they're listed.
+ * @param biomes                   The configured biomes and biome tags, in the order they're listed.
+ * @param biomesByName             The configured biomes by name; the first entry listed wins.
+ * @param diffInRain               The temperature difference when it is raining.
+ * @param diffInSnow               The temperature difference when it is snowing.
+ * @param profiles                 The configured determinant profiles by dimension; the first entry listed wins.
+ * @param normalDamageTick         Damage the player every X ticks if they have an uncomfortable temperature.
+ * @param extremeDamageTick        Damage the player every X ticks if they are in extreme conditions.
+ * @param normalDamageAmount       Damage the player this much if they have an uncomfortable temperature.
+ * @param extremeDamageAmount      Damage the player this much if they are in extreme conditions.
+ * @param burnTicks                When in extreme heat, set the player on fire for this many ticks.
+ * @param minEvaluationInterval    Recompute the temperature of uncomfortable players every X ticks.
+ * @param maxEvaluationInterval    Recompute the temperature of comfortable, still players at least every X ticks.
+ * @param evaluationBudgetNanos    The time each dimension may spend recomputing temperatures per tick.
+ * @param parallelEvaluation       Whether the queued players of a dimension are recomputed at once, on worker threads.
+ * @param evaluationThreads        The number of worker threads; 0 uses one less than the number of cores.
+ * @param determinantBudgetNanos   The time a single determinant may take to run; 0 never bypasses determinants.
+ * @param determinantOverrunLimit  How many runs in a row a determinant may go over budget before it is bypassed.
+ * @param determinantBypassSeconds How long a determinant over budget is bypassed.
+ * @param locationCacheSize        How many block positions per dimension share their temperatures between players.
+ */
+@Mod.EventBusSubscriber(modid = TemperaturesMod.MOD_ID)
+public record ConfigSnapshot(int version,
+                             List<Util.Pair<String, Double>> warmBlocks,
+                             List<Config.Common.BiomeData> biomes,
+                             Map<String, Config.Common.BiomeData> biomesByName,
+                             double diffInRain, double diffInSnow,
+                             Map<ResourceLocation, DeterminantProfile> profiles,
+                             int normalDamageTick, int extremeDamageTick,
+                             int normalDamageAmount, int extremeDamageAmount,
+                             int burnTicks,
+                             int minEvaluationInterval, int maxEvaluationInterval,
+                             int evaluationBudgetNanos,
+                             boolean parallelEvaluation, int evaluationThreads,
+                             int determinantBudgetNanos, int determinantOverrunLimit, int determinantBypassSeconds,
+                             int locationCacheSize) {
+    private static volatile ConfigSnapshot current = null;
+
+    /**
+     * Gets the current snapshot, capturing the first one if needed.
+     */
+    public static ConfigSnapshot get() {
+        ConfigSnapshot snapshot = current;
+        if (snapshot == null) snapshot = rebuild();
+
+        return snapshot;
+    }
+
+    /**
+     * Captures the configuration again and publishes the result.
+     * @return The published snapshot.
+     */
+    public static synchronized ConfigSnapshot rebuild() {
+        ConfigSnapshot previous = current;
+
+        current = Config.capture(previous == null ? 1 : previous.version + 1);
+        return current;
+    }
+
+    @SubscribeEvent
+    public static void tagsUpdated(TagsUpdatedEvent event) {
+        rebuild();
+    }
+}
@@ -1,8 +1,16 @@
 package dev.realsgii2.temperatures;
 
+import com.mojang.logging.LogUtils;
 import dev.realsgii2.temperatures.boilerplate.ChatUtil;
+import dev.realsgii2.temperatures.gui.GaugeAtlas;
 import dev.realsgii2.temperatures.gui.TemperatureGaugeOverlay;
 import dev.realsgii2.temperatures.handler.Temperature;
+import dev.realsgii2.temperatures.handler.TemperatureScheduler;
+import dev.realsgii2.temperatures.handler.TemperatureSnapshot;
+import dev.realsgii2.temperatures.handler.world.BiomeTable;
+import dev.realsgii2.temperatures.network.ModNetwork;
+import dev.realsgii2.temperatures.network.TemperatureSync;
+import dev.realsgii2.temperatures.registry.ModDamageSources;
 import dev.realsgii2.temperatures.registry.ModEnchantments;
 import dev.realsgii2.temperatures.registry.ModPotions;
 import dev.realsgii2.temperatures.registry.ModRegistry;
@@ -11,7 +19,7 @@ import net.minecraft.core.Registry;
 import net.minecraft.core.registries.Registries;
 import net.minecraft.network.chat.Component;
 import net.minecraft.resources.ResourceLocation;
-import net.minecraft.world.damagesource.DamageSource;
+import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.CreativeModeTab;
 import net.minecraft.world.item.CreativeModeTabs;
@@ -21,6 +29,7 @@ import net.minecraft.world.item.alchemy.PotionUtils;
 import net.minecraft.world.level.biome.Biome;
 import net.minecraft.world.level.block.Blocks;
 import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.client.event.RegisterClientReloadListenersEvent;
 import net.minecraftforge.client.event.RegisterGuiOverlaysEvent;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.event.TickEvent;
@@ -30,10 +39,9 @@ import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.javafmlmod.FMLJavaModLoadingContext;
 import net.minecraftforge.registries.DeferredRegister;
-import org.antlr.v4.runtime.misc.Triple;
+import org.slf4j.Logger;
 
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.function.BooleanSupplier;
 
@@ -41,11 +49,14 @@ import java.util.function.BooleanSupplier;
 public class TemperaturesMod {
     public static final String MOD_ID = "temperatures";
 
+    public static final Logger LOGGER = LogUtils.getLogger();
+
     public static final DeferredRegister<CreativeModeTab> CREATIVE_MODE_TABS =
             DeferredRegister.create(Registries.CREATIVE_MODE_TAB, MOD_ID);
 
     public TemperaturesMod() {
         Config.registerConfig();
+        ModNetwork.register();
 
         IEventBus bus = FMLJavaModLoadingContext.get().getModEventBus();
         ModRegistry.register(bus);
@@ -83,6 +94,11 @@ public class TemperaturesMod {
         public static void registerGUI(RegisterGuiOverlaysEvent event) {
             event.registerAboveAll("temperatures_gauge_gui", new TemperatureGaugeOverlay());
         }
+
+        @SubscribeEvent
+        public static void registerReloadListeners(RegisterClientReloadListenersEvent event) {
+            event.registerReloadListener(new GaugeAtlas(Minecraft.getInstance().getTextureManager()));
+        }
     }
 
     @Mod.EventBusSubscriber(modid = MOD_ID)
@@ -127,17 +143,8 @@ public class TemperaturesMod {
                 if (biomeRegistryHolder.isEmpty()) return;
 
                 Registry<Biome> biomeRegistry = biomeRegistryHolder.get();
-                List<? extends Triple<String, Double, Double>> biomes = Config.Common.getBiomeTemperatures();
-                if (
-                        biomeRegistry.stream().anyMatch(
-                                x -> biomes.stream().noneMatch(
-                                        y -> y.a.equals(
-                                                Objects.requireNonNull(
-                                                        biomeRegistry.getKey(x)).toString()
-                                        )
-                                )
-                        )
-                ) {
+                BiomeTable biomes = BiomeTable.get(player.level());
+                if (biomeRegistry.holders().anyMatch(x -> biomes.get(x) == null)) {
                     warningMessage = "The configuration doesn't specify all biomes.";
                     fixMessage = "fill in missing biomes";
                 }
@@ -161,19 +168,22 @@ public class TemperaturesMod {
         }
 
         /**
-         * Damages players that are in uncomfortable or extreme temperatures.
+         * Sends players their temperature, and damages those that are in uncomfortable or extreme temperatures.
          */
         @SubscribeEvent
         public static void damageUncomfortablePlayers(TickEvent.PlayerTickEvent event) {
             if (event.phase == TickEvent.Phase.START && event.side.isServer()) {
                 Player player = event.player;
-                Temperature temperature = new Temperature(player);
+                TemperatureSnapshot temperature = TemperatureScheduler.get(player);
+
+                if (player instanceof ServerPlayer serverPlayer)
+                    TemperatureSync.sync(serverPlayer, temperature);
 
                 if (!player.isCreative() && !player.isSpectator()) {
-                    Util.Pair<DamageSource, Integer> possibleDamage = temperature.getPossibleDamage(event);
+                    Temperature.Damage possibleDamage = Temperature.getPossibleDamageKind(temperature, player.tickCount);
 
                     if (possibleDamage != null)
-                        player.hurt(possibleDamage.first, possibleDamage.second);
+                        player.hurt(possibleDamage.source(ModDamageSources.fromEvent(event)), possibleDamage.amount());
 
                     if (temperature.isPlayerBurning())
                         player.setRemainingFireTicks(Config.Server.getBurnTicks());
@@ -1,7 +1,9 @@
 package dev.realsgii2.temperatures;
 
+import dev.realsgii2.temperatures.api.world.TemperatureWorldView;
 import net.minecraft.client.Minecraft;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.Holder;
 import net.minecraft.core.Registry;
 import net.minecraft.core.registries.Registries;
 import net.minecraft.resources.ResourceLocation;
@@ -118,15 +120,76 @@ public class Util {
          * @return The biomes and their corresponding weights.
          */
         public static List<Pair<Biome, Double>> getNearbyWeightedBiomes(Player player) {
-            ArrayList<Biome> result = new ArrayList<>();
+            return getNearbyWeightedBiomes(player.level(), player.blockPosition());
+        }
 
-            for (BlockPos blockPos : getNearbyPositions(player.blockPosition(), 64, 2)) {
-                Biome biome = player.level().getBiome(blockPos).get();
+        /**
+         * Gets all biomes within a 64 block area, then returns how much they cover that area.
+         *
+         * @param level The level to sample.
+         * @param pos   The centre of the area.
+         * @return The biomes and their corresponding weights.
+         */
+        public static List<Pair<Biome, Double>> getNearbyWeightedBiomes(Level level, BlockPos pos) {
+            return getNearbyWeightedBiomeHolders(level, pos).stream().map(x -> Pair.of(x.first.value(), x.second)).collect(Collectors.toList());
+        }
+
+        /**
+         * Gets all biomes within a 64 block area, then returns how much they cover that area.
+         *
+         * @param level The level to sample.
+         * @param pos   The centre of the area.
+         * @return The registered biomes and their corresponding weights.
+         */
+        public static List<Pair<Holder<Biome>, Double>> getNearbyWeightedBiomeHolders(Level level, BlockPos pos) {
+            ArrayList<Holder<Biome>> result = new ArrayList<>();
+
+            for (BlockPos blockPos : getNearbyPositions(pos, 64, 2)) {
+                Holder<Biome> biome = level.getBiome(blockPos);
                 result.add(biome);
             }
 
-            return result.stream().distinct().map(x -> Pair.of(x,
-                    (Collections.frequency(result, x) / (double) result.size()))).collect(Collectors.toList());
+            return getWeights(result);
+        }
+
+        /**
+         * Gets all biomes within a 64 block area, then returns how much they cover that area.
+         *
+         * @param view The world to sample.
+         * @param pos  The centre of the area.
+         * @return The biomes and their corresponding weights.
+         */
+        public static List<Pair<Holder<Biome>, Double>> getNearbyWeightedBiomeHolders(TemperatureWorldView view, BlockPos pos) {
+            return getNearbyWeightedBiomeHolders(view, pos, 64);
+        }
+
+        /**
+         * Gets biomes sampled evenly over the same 16x16 block area, then returns how much they cover that area.
+         *
+         * @param view    The world to sample.
+         * @param pos     The centre of the area.
+         * @param samples The amount of samples to take: a square number within [1, 64].
+         * @return The biomes and their corresponding weights.
+         */
+        public static List<Pair<Holder<Biome>, Double>> getNearbyWeightedBiomeHolders(TemperatureWorldView view, BlockPos pos, int samples) {
+            ArrayList<Holder<Biome>> result = new ArrayList<>();
+            int interval = 16 / Math.max(1, (int) Math.sqrt(samples));
+
+            for (BlockPos blockPos : getNearbyPositions(pos, samples, interval))
+                result.add(view.getBiome(blockPos));
+
+            return getWeights(result);
+        }
+
+        /**
+         * Gets how much each distinct value covers a list of samples.
+         *
+         * @param samples The samples to weigh.
+         * @return The distinct samples, in the order first seen, and their corresponding weights.
+         */
+        public static <T> List<Pair<T, Double>> getWeights(List<T> samples) {
+            return samples.stream().distinct().map(x -> Pair.of(x,
+                    (Collections.frequency(samples, x) / (double) samples.size()))).collect(Collectors.toList());
         }// Credit:
 
         /**
@@ -0,0 +1,154 @@
+package dev.realsgii2.temperatures.api.registry.determinant;
+
+import dev.realsgii2.temperatures.ConfigSnapshot;
+import dev.realsgii2.temperatures.api.world.TemperatureWorldView;
+
+import java.util.Arrays;
+
+/**
+ * The last result of every determinant of a {@link DeterminantPipeline}, with the stamps of the inputs
+ * they were computed from, so a pipeline can reuse them while none of their
+ * {@link IDeterminant#dependencies()} change.
+ * <p>
+ * A cache belongs to a single position or player, and isn't thread-safe; pipelines lock caches shared by a location
+ * while they prepare, read or write them. Every cached result is dropped
+ * when the configuration changes or the cache is used with a different pipeline.
+ */
+public final class DeterminantCache {
+    /**
+     * The amount of inputs determinants can declare.
+     */
+    public static final int INPUTS = 7;
+
+    /**
+     * Every input determinants can declare.
+     */
+    static final int KNOWN_INPUTS = (1 << INPUTS) - 1;
+
+    private DeterminantPipeline pipeline = null;
+    private int configVersion;
+
+    /**
+     * The stamp of every input for the current execution, indexed by the bit of the input.
+     */
+    private final long[] current = new long[INPUTS];
+
+    private boolean[] valid = new boolean[0];
+    private double[] inputs = new double[0];
+    private double[] outputs = new double[0];
+    private int[] priorities = new int[0];
+
+    /**
+     * The stamps every result was computed with, indexed by (determinant * INPUTS + input).
+     */
+    private long[] stamps = new long[0];
+
+    /**
+     * Reads the stamps of the inputs a pipeline depends on, for an execution.
+     * @param pipeline The pipeline being executed.
+     * @param view The world the pipeline is executed in.
+     * @param stamps The array to read the stamps into, indexed by the bit of the input.
+     */
+    static void readStamps(DeterminantPipeline pipeline, TemperatureWorldView view, long[] stamps) {
+        for (int i = 0; i < INPUTS; i++)
+            stamps[i] = (pipeline.dependencies() & 1 << i) != 0 ? view.stamp(1 << i) : TemperatureWorldView.UNTRACKED;
+    }
+
+    /**
+     * Prepares this cache for an execution of a pipeline.
+     * @param pipeline The pipeline being executed.
+     * @param stamps The stamps of the inputs of the execution, as read by {@link #readStamps}.
+     */
+    void prepare(DeterminantPipeline pipeline, long[] stamps) {
+        int version = ConfigSnapshot.get().version();
+
+        if (this.pipeline != pipeline || configVersion != version) {
+            int size = pipeline.size();
+
+            this.pipeline = pipeline;
+            this.configVersion = version;
+            this.valid = new boolean[size];
+            this.inputs = new double[size];
+            this.outputs = new double[size];
+            this.priorities = new int[size];
+            this.stamps = new long[size * INPUTS];
+        }
+
+        System.arraycopy(stamps, 0, current, 0, INPUTS);
+    }
+
+    /**
+     * Determines whether the cached result of a determinant can be reused.
+     * @param index The position of the determinant in the pipeline.
+     * @param dependencies The inputs the determinant depends on.
+     * @param input The result before running the determinant.
+     */
+    boolean isReusable(int index, int dependencies, double input) {
+        if (!valid[index] || (dependencies & ~KNOWN_INPUTS) != 0) return false;
+        if (Double.doubleToRawLongBits(inputs[index]) != Double.doubleToRawLongBits(input)) return false;
+
+        for (int i = 0; i < INPUTS; i++) {
+            if ((dependencies & 1 << i) == 0) continue;
+
+            long stamp = current[i];
+            if (stamp == TemperatureWorldView.UNTRACKED || stamps[index * INPUTS + i] != stamp) return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Determines whether a determinant has a cached result, even if it can't be reused.
+     * @param index The position of the determinant in the pipeline.
+     */
+    boolean hasResult(int index) {
+        return valid[index];
+    }
+
+    /**
+     * Gets the result before running a determinant, when its result was cached.
+     * @param index The position of the determinant in the pipeline.
+     */
+    double input(int index) {
+        return inputs[index];
+    }
+
+    /**
+     * Gets the cached result of a determinant.
+     * @param index The position of the determinant in the pipeline.
+     */
+    double output(int index) {
+        return outputs[index];
+    }
+
+    /**
+     * Gets the cached override priority of a determinant.
+     * @param index The position of the determinant in the pipeline.
+     */
+    int priority(int index) {
+        return priorities[index];
+    }
+
+    /**
+     * Stores the result of a determinant with the stamps of the current execution.
+     * @param index The position of the determinant in the pipeline.
+     * @param input The result before running the determinant.
+     * @param output The result after running the determinant.
+     * @param priority The override priority of the determinant.
+     */
+    void store(int index, double input, double output, int priority) {
+        valid[index] = true;
+        inputs[index] = input;
+        outputs[index] = output;
+        priorities[index] = priority;
+
+        System.arraycopy(current, 0, stamps, index * INPUTS, INPUTS);
+    }
+
+    /**
+     * Drops every cached result.
+     */
+    public void clear() {
+        Arrays.fill(valid, false);
+    }
+}
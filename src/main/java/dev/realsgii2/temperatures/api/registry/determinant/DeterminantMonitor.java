@@ -0,0 +1,175 @@
+package dev.realsgii2.temperatures.api.registry.determinant;
+
+import com.google.common.collect.MapMaker;
+import dev.realsgii2.temperatures.ConfigSnapshot;
+import dev.realsgii2.temperatures.TemperaturesMod;
+import net.minecraft.resources.ResourceLocation;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Measures how long every {@link IDeterminant} takes to run, and bypasses determinants that keep going over
+ * their budget, so a single slow determinant (such as one added by another mod) can't stall every tick.
+ * <p>
+ * A determinant taking longer than {@link ConfigSnapshot#determinantBudgetNanos()} for
+ * {@link ConfigSnapshot#determinantOverrunLimit()} runs in a row is bypassed for
+ * {@link ConfigSnapshot#determinantBypassSeconds()}. While it is bypassed, pipelines reuse the last result it gave
+ * each player or position, as cached by their {@link DeterminantCache}.
+ */
+public final class DeterminantMonitor {
+    /**
+     * The amount of recent run times kept for every determinant.
+     */
+    private static final int SAMPLES = 256;
+
+    /**
+     * The statistics of every determinant, compared by identity. Keys are weak, so determinants that are no longer
+     * used (such as those of a registry baked again, or of lists passed to {@link DeterminantRegistry}) are dropped.
+     */
+    private static final Map<IDeterminant, Stats> STATS = new MapMaker().weakKeys().makeMap();
+
+    /**
+     * Gets the statistics of a determinant, creating them if needed.
+     * Pipelines look them up once when they're compiled.
+     * @param determinant The determinant to get the statistics of.
+     */
+    static Stats of(IDeterminant determinant) {
+        return STATS.computeIfAbsent(determinant, x -> new Stats());
+    }
+
+    /**
+     * Describes how long every determinant that has run so far takes.
+     */
+    public static List<Report> report() {
+        long now = System.nanoTime();
+        List<Report> reports = new ArrayList<>();
+        for (Map.Entry<IDeterminant, Stats> entry : STATS.entrySet())
+            reports.add(entry.getValue().report(entry.getKey(), now));
+
+        return reports;
+    }
+
+    /**
+     * How long one determinant took to run recently.
+     *
+     * @param id            The ID of the determinant, or null if it isn't registered.
+     * @param determinant   The determinant.
+     * @param runs          How many times the determinant ran since the game started.
+     * @param p50Nanos      The median of its recent run times.
+     * @param p95Nanos      The 95th percentile of its recent run times.
+     * @param p99Nanos      The 99th percentile of its recent run times.
+     * @param maxNanos      The longest of its recent run times.
+     * @param trips         How many times it has been bypassed since the game started.
+     * @param bypassedNanos How much longer it is bypassed for, or 0 if it isn't.
+     */
+    public record Report(@Nullable ResourceLocation id, IDeterminant determinant, long runs,
+                         long p50Nanos, long p95Nanos, long p99Nanos, long maxNanos,
+                         long trips, long bypassedNanos) {
+        public String name() {
+            return id != null ? id.toString() : determinant.getClass().getName();
+        }
+    }
+
+    /**
+     * The recent run times and the circuit breaker of one determinant. Safe to update from several threads.
+     * Stats don't hold their determinant, so it can still be collected.
+     */
+    static final class Stats {
+        /**
+         * The most recent run times, written in a ring: run n is at (n % SAMPLES).
+         */
+        private final AtomicLongArray samples = new AtomicLongArray(SAMPLES);
+        private final AtomicLong runs = new AtomicLong();
+
+        private final AtomicInteger overruns = new AtomicInteger();
+        private final AtomicLong trips = new AtomicLong();
+
+        /**
+         * The {@link System#nanoTime()} the determinant is bypassed until, if {@link #bypassed}.
+         */
+        private volatile long bypassedUntil = 0L;
+        private volatile boolean bypassed = false;
+
+        private Stats() {
+        }
+
+        /**
+         * Determines whether the determinant is bypassed.
+         * @param now The current {@link System#nanoTime()}.
+         */
+        boolean isBypassed(long now) {
+            if (!bypassed) return false;
+            if (now - bypassedUntil < 0) return true;
+
+            // The bypass is over: run it again, and count its overruns from scratch.
+            bypassed = false;
+            return false;
+        }
+
+        /**
+         * Records how long the determinant took to run, bypassing it if it went over budget too many times in a row.
+         * @param determinant The determinant.
+         * @param nanos How long the determinant took.
+         * @param now The current {@link System#nanoTime()}.
+         */
+        void record(IDeterminant determinant, long nanos, long now) {
+            samples.set((int) (runs.getAndIncrement() % SAMPLES), nanos);
+
+            ConfigSnapshot config = ConfigSnapshot.get();
+            int budget = config.determinantBudgetNanos();
+            if (budget <= 0) return;
+
+            if (nanos <= budget) {
+                overruns.set(0);
+                return;
+            }
+
+            int count = overruns.incrementAndGet();
+            if (count < config.determinantOverrunLimit()) return;
+
+            // Only the thread that resets the count trips the breaker.
+            if (!overruns.compareAndSet(count, 0)) return;
+
+            bypassedUntil = now + TimeUnit.SECONDS.toNanos(config.determinantBypassSeconds());
+            bypassed = true;
+            trips.incrementAndGet();
+
+            TemperaturesMod.LOGGER.warn("Bypassing determinant {} for {} seconds: it took over {} ns for {} runs in a row (last: {} ns)",
+                    name(determinant), config.determinantBypassSeconds(), budget, count, nanos);
+        }
+
+        private static String name(IDeterminant determinant) {
+            ResourceLocation id = DeterminantRegistry.key(determinant);
+            return id != null ? id.toString() : determinant.getClass().getName();
+        }
+
+        private Report report(IDeterminant determinant, long now) {
+            long total = runs.get();
+            int size = (int) Math.min(total, SAMPLES);
+
+            long[] recent = new long[size];
+            for (int i = 0; i < size; i++) recent[i] = samples.get(i);
+            Arrays.sort(recent);
+
+            long until = bypassedUntil;
+            long remaining = bypassed && now - until < 0 ? until - now : 0L;
+
+            return new Report(DeterminantRegistry.key(determinant), determinant, total,
+                    percentile(recent, 0.50), percentile(recent, 0.95), percentile(recent, 0.99),
+                    size == 0 ? 0L : recent[size - 1], trips.get(), remaining);
+        }
+
+        private static long percentile(long[] sorted, double percentile) {
+            if (sorted.length == 0) return 0L;
+            return sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)];
+        }
+    }
+}
@@ -0,0 +1,467 @@
+package dev.realsgii2.temperatures.api.registry.determinant;
+
+import dev.realsgii2.temperatures.Util;
+import dev.realsgii2.temperatures.api.world.LiveWorldView;
+import dev.realsgii2.temperatures.api.world.TemperatureWorldView;
+import net.minecraft.world.entity.player.Player;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * An immutable, pre-sorted list of {@link IDeterminant}s that can be executed to get a temperature.
+ * <p>
+ * Pipelines are compiled by the {@link DeterminantRegistry} once it is frozen; they never change, so
+ * they can be shared by every player and executed from any thread. Determinants that only implement the
+ * {@link Player} API read the live world, so they are run through {@link TemperatureWorldView#runLive(Runnable)}.
+ * <p>
+ * The pipeline itself keeps its working state in per-thread buffers, so an execution only allocates the first time a
+ * thread runs a pipeline of its size, and whatever its determinants, caches and view allocate. Handing a determinant
+ * over to the server thread from a worker also allocates.
+ * <p>
+ * Determinants that can't change the result are skipped: those before a guaranteed override
+ * ({@link IDeterminant#guaranteedOverridePriority(TemperatureWorldView)}) that can't beat it, and all remaining
+ * determinants once none of them can beat the best override found
+ * ({@link IDeterminant#overridePriorityBound(TemperatureWorldView)}). Determinants are also skipped once the
+ * remaining ones can't change the clamped result, or can't move it across any threshold the caller is interested in
+ * ({@link IDeterminant#contributionBound(TemperatureWorldView)}).
+ * <p>
+ * Every determinant run is timed by the {@link DeterminantMonitor}. Determinants it bypasses for going over budget
+ * give the last result they gave the same player or position instead, or don't change the result if there is none.
+ */
+public final class DeterminantPipeline {
+    /**
+     * The override priority bounds of the determinants being executed by each thread, followed by the highest
+     * bound of the determinants from each position onwards.
+     */
+    private static final ThreadLocal<int[]> BOUNDS = ThreadLocal.withInitial(() -> new int[0]);
+
+    /**
+     * The sum of the contribution bounds of the determinants from each position onwards, for each thread.
+     */
+    private static final ThreadLocal<double[]> CONTRIBUTIONS = ThreadLocal.withInitial(() -> new double[0]);
+
+    /**
+     * The stamps of the inputs of the execution of each thread.
+     */
+    private static final ThreadLocal<long[]> STAMPS = ThreadLocal.withInitial(() -> new long[DeterminantCache.INPUTS]);
+
+    /**
+     * The input, output and priority of the cached result looked up by each thread.
+     */
+    private static final ThreadLocal<double[]> LOOKUP = ThreadLocal.withInitial(() -> new double[3]);
+
+    /**
+     * The task running a determinant through {@link TemperatureWorldView#runLive(Runnable)}, for each thread.
+     */
+    private static final ThreadLocal<LiveRun> LIVE_RUN = ThreadLocal.withInitial(LiveRun::new);
+
+    /**
+     * Whether the determinants of each class only implement the {@link Player} API, found once per class.
+     */
+    private static final ClassValue<Boolean> PLAYER_API = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return usesPlayerApi(type);
+        }
+    };
+
+    private static final int MISSING = 0;
+    private static final int STALE = 1;
+    private static final int REUSABLE = 2;
+
+    /**
+     * The inputs that only depend on the location, and not on who is there.
+     */
+    private static final int LOCATION_INPUTS = IDeterminant.POSITION | IDeterminant.TIME_BUCKET | IDeterminant.WEATHER
+            | IDeterminant.DIMENSION | IDeterminant.NEARBY_BLOCKS;
+
+    private final IDeterminant[] determinants;
+
+    /**
+     * The {@link IDeterminant#dependencies()} of every determinant, in execution order.
+     */
+    private final int[] dependencies;
+
+    /**
+     * Whether the result of every determinant only depends on the location, in execution order,
+     * so it can be shared by everything at the same location.
+     */
+    private final boolean[] locationOnly;
+
+    /**
+     * Whether every determinant only implements the {@link Player} API, in execution order.
+     */
+    private final boolean[] playerApi;
+
+    /**
+     * Whether any determinant of this pipeline only depends on the location.
+     */
+    private final boolean hasLocationOnly;
+
+    /**
+     * The run times and circuit breaker of every determinant, in execution order.
+     * Looked up the first time each determinant runs, so compiling a pipeline doesn't lock the monitor.
+     */
+    private final DeterminantMonitor.Stats[] stats;
+
+    /**
+     * Every input any determinant of this pipeline depends on.
+     */
+    private final int allDependencies;
+
+    /**
+     * Compiles a pipeline from a list of determinants, sorting them by {@link IDeterminant#order()}.
+     * Determinants with the same order run cheapest first ({@link IDeterminant#estimatedCost()}), and keep
+     * the order they were passed in if they cost the same.
+     * @param determinants The determinants to use.
+     */
+    public DeterminantPipeline(Collection<? extends IDeterminant> determinants) {
+        Objects.requireNonNull(determinants);
+
+        List<IDeterminant> sorted = new ArrayList<>(determinants);
+        sorted.sort(Comparator.comparingInt(IDeterminant::order).thenComparingInt(IDeterminant::estimatedCost));
+
+        this.determinants = sorted.toArray(IDeterminant[]::new);
+        this.dependencies = new int[this.determinants.length];
+        this.stats = new DeterminantMonitor.Stats[this.determinants.length];
+        this.locationOnly = new boolean[this.determinants.length];
+        this.playerApi = new boolean[this.determinants.length];
+
+        int allDependencies = 0;
+        boolean hasLocationOnly = false;
+        for (int i = 0; i < this.determinants.length; i++) {
+            dependencies[i] = this.determinants[i].dependencies();
+            locationOnly[i] = (dependencies[i] & ~LOCATION_INPUTS) == 0;
+            playerApi[i] = PLAYER_API.get(this.determinants[i].getClass());
+            hasLocationOnly |= locationOnly[i];
+            allDependencies |= dependencies[i];
+        }
+
+        this.hasLocationOnly = hasLocationOnly;
+
+        this.allDependencies = allDependencies & DeterminantCache.KNOWN_INPUTS;
+    }
+
+    /**
+     * The amount of determinants in this pipeline.
+     */
+    public int size() {
+        return determinants.length;
+    }
+
+    /**
+     * Gets a determinant by its position in the execution order.
+     * @param index The position of the determinant.
+     */
+    public IDeterminant get(int index) {
+        return determinants[index];
+    }
+
+    /**
+     * Determines whether any determinant of this pipeline only depends on the location, so executions at the
+     * same location can share a cache for them.
+     */
+    public boolean hasLocationOnly() {
+        return hasLocationOnly;
+    }
+
+    /**
+     * Every input any determinant of this pipeline depends on.
+     */
+    int dependencies() {
+        return allDependencies;
+    }
+
+    /**
+     * Executes all determinants in this pipeline to get the current temperature.
+     * @param player The player to base the determinants off of.
+     * @return A number from [-3, 3] representing the combined result of all determinants.
+     */
+    public double compute(Player player) {
+        return compute(LiveWorldView.of(player));
+    }
+
+    /**
+     * Executes all determinants in this pipeline to get the temperature of a position.
+     * @param view The world around the position to base the determinants off of.
+     * @return A number from [-3, 3] representing the combined result of all determinants.
+     */
+    public double compute(TemperatureWorldView view) {
+        return compute(view, null);
+    }
+
+    /**
+     * Executes all determinants in this pipeline to get the temperature of a position, reusing the
+     * results of determinants whose inputs haven't changed since they were cached.
+     * @param view The world around the position to base the determinants off of.
+     * @param cache The results of previous executions for the same position or player, or null to run every determinant.
+     * @return A number from [-3, 3] representing the combined result of all determinants.
+     */
+    public double compute(TemperatureWorldView view, @Nullable DeterminantCache cache) {
+        return compute(view, cache, null);
+    }
+
+    /**
+     * Executes the determinants in this pipeline to get the temperature of a position, only as far as needed to
+     * tell which side of each threshold the result is on. The result is exact if no threshold is given.
+     * @param view The world around the position to base the determinants off of.
+     * @param cache The results of previous executions for the same position or player, or null to run every determinant.
+     * @param thresholds The temperatures the caller compares the result with, or null if it needs the exact result.
+     * @return A number from [-3, 3] on the same side of (or equal to) each threshold as the combined result of all
+     *         determinants.
+     */
+    public double compute(TemperatureWorldView view, @Nullable DeterminantCache cache, @Nullable double[] thresholds) {
+        return compute(view, cache, null, thresholds);
+    }
+
+    /**
+     * Executes the determinants in this pipeline to get the temperature of a position, only as far as needed to
+     * tell which side of each threshold the result is on. Determinants that only depend on the location
+     * ({@link #hasLocationOnly()}) are cached in a cache shared by every execution at the same location, the others
+     * in the cache of the player or position.
+     * @param view The world around the position to base the determinants off of.
+     * @param cache The results of previous executions for the same position or player, or null.
+     * @param location The results of previous executions at the same location, or null. Locked while it is read
+     *                 or written, so it can be shared between threads; determinants run outside the lock.
+     * @param thresholds The temperatures the caller compares the result with, or null if it needs the exact result.
+     * @return A number from [-3, 3] on the same side of (or equal to) each threshold as the combined result of all
+     *         determinants.
+     */
+    public double compute(TemperatureWorldView view, @Nullable DeterminantCache cache,
+                          @Nullable DeterminantCache location, @Nullable double[] thresholds) {
+        long[] stamps = STAMPS.get();
+        double[] lookup = LOOKUP.get();
+
+        if (cache != null || location != null) DeterminantCache.readStamps(this, view, stamps);
+        if (cache != null) cache.prepare(this, stamps);
+
+        int length = determinants.length;
+        int[] bounds = BOUNDS.get();
+        if (bounds.length < length * 2 + 1) BOUNDS.set(bounds = new int[length * 2 + 1]);
+
+        double[] contributions = CONTRIBUTIONS.get();
+        if (contributions.length < length + 1) CONTRIBUTIONS.set(contributions = new double[length + 1]);
+
+        // The highest bound from each position onwards is stored after the bounds themselves.
+        int guaranteedPriority = IDeterminant.NO_OVERRIDE;
+        int guaranteedIndex = -1;
+        bounds[length * 2] = IDeterminant.NO_OVERRIDE;
+        contributions[length] = 0.0;
+
+        for (int i = length - 1; i >= 0; i--) {
+            bounds[i] = determinants[i].overridePriorityBound(view);
+            bounds[length + i] = Math.max(bounds[i], bounds[length + i + 1]);
+            contributions[i] = determinants[i].contributionBound(view) + contributions[i + 1];
+
+            // Of equal guarantees, the last one wins, so only a higher guarantee replaces it.
+            int guarantee = determinants[i].guaranteedOverridePriority(view);
+            if (guarantee > guaranteedPriority) {
+                guaranteedPriority = guarantee;
+                guaranteedIndex = i;
+            }
+        }
+
+        // Determinants before a guaranteed override only matter if one of them may beat it; the guaranteed
+        // override ignores their result, and wins ties as it runs later.
+        int skipFrom = guaranteedIndex;
+        while (skipFrom > 0 && bounds[skipFrom - 1] <= guaranteedPriority) skipFrom--;
+
+        double result = 0.0;
+
+        // Only the highest override matters; later overrides of the same priority replace earlier ones.
+        boolean overridden = false;
+        int overridePriority = IDeterminant.NO_OVERRIDE;
+        double overrideValue = 0.0;
+
+        for (int i = 0; i < length; i++) {
+            if (i == skipFrom) i = guaranteedIndex;
+
+            // Once no remaining determinant can beat the best override, their results can't change the result.
+            if (overridden && bounds[length + i] < overridePriority) break;
+
+            // Once the remaining determinants can't change the clamped result, or move it across a threshold,
+            // the result so far is as good as the final one.
+            if (isSettled(result, contributions[i], overridden, overrideValue,
+                    bounds[length + i] != IDeterminant.NO_OVERRIDE, thresholds)) break;
+
+            IDeterminant determinant = determinants[i];
+            boolean shared = location != null && locationOnly[i];
+            double oldResult = result;
+            int priority;
+            long start;
+            int state = MISSING;
+
+            if (shared) {
+                synchronized (location) {
+                    location.prepare(this, stamps);
+                    state = lookup(location, i, dependencies[i], oldResult, lookup);
+                }
+            } else if (cache != null) state = lookup(cache, i, dependencies[i], oldResult, lookup);
+
+            if (state == REUSABLE) {
+                result = lookup[1];
+                priority = (int) lookup[2];
+            } else if (stats(i).isBypassed(start = System.nanoTime())) {
+                if (state == STALE) {
+                    // A guaranteed override doesn't depend on the result before it, so its result is reused as is;
+                    // other determinants are assumed to offset the result by as much as they did last time.
+                    result = i == guaranteedIndex ? lookup[1] : oldResult + lookup[1] - lookup[0];
+                    priority = (int) lookup[2];
+                } else priority = IDeterminant.NO_OVERRIDE;
+            } else {
+                if (playerApi[i]) {
+                    LiveRun run = LIVE_RUN.get().prepare(determinant, view, oldResult);
+                    view.runLive(run);
+
+                    result = run.result;
+                    priority = run.priority;
+                    run.prepare(null, null, 0.0);
+                } else {
+                    result = determinant.getTemperature(view, result);
+                    priority = determinant.overridePriority(view, oldResult, result);
+                }
+
+                long end = System.nanoTime();
+                stats(i).record(determinant, end - start, end);
+
+                if (shared) {
+                    synchronized (location) {
+                        location.prepare(this, stamps);
+                        location.store(i, oldResult, result, priority);
+                    }
+                } else if (cache != null) cache.store(i, oldResult, result, priority);
+            }
+
+            if (priority != IDeterminant.NO_OVERRIDE) {
+                overridden = true;
+
+                if (priority >= overridePriority) {
+                    overridePriority = priority;
+                    overrideValue = result;
+                }
+            }
+        }
+
+        if (overridden)
+            return Util.Mathf.clamp(overrideValue, -3.0, 3.0);
+        else
+            return Util.Mathf.clamp(result, -2.0, 2.0);
+    }
+
+    /**
+     * Gets the statistics of a determinant, looking them up if it hasn't run in this pipeline yet.
+     * Threads racing to look them up get the same statistics.
+     * @param index The position of the determinant in the pipeline.
+     */
+    private DeterminantMonitor.Stats stats(int index) {
+        DeterminantMonitor.Stats result = stats[index];
+        if (result == null) stats[index] = result = DeterminantMonitor.of(determinants[index]);
+
+        return result;
+    }
+
+    /**
+     * Runs a determinant, keeping its result. Reused by the thread executing the pipeline, which waits for it to run.
+     */
+    private static final class LiveRun implements Runnable {
+        private IDeterminant determinant;
+        private TemperatureWorldView view;
+        private double input;
+        private double result;
+        private int priority;
+
+        private LiveRun prepare(@Nullable IDeterminant determinant, @Nullable TemperatureWorldView view, double input) {
+            this.determinant = determinant;
+            this.view = view;
+            this.input = input;
+            this.result = input;
+            this.priority = IDeterminant.NO_OVERRIDE;
+
+            return this;
+        }
+
+        @Override
+        public void run() {
+            result = determinant.getTemperature(view, input);
+            priority = determinant.overridePriority(view, input, result);
+        }
+    }
+
+    /**
+     * Determines whether a class of determinants only implements the {@link Player} API for its result or its
+     * override priority, so the view methods it inherits read the live world through the player.
+     * @param type The class of the determinants to check.
+     */
+    private static boolean usesPlayerApi(Class<?> type) {
+        try {
+            return type.getMethod("getTemperature", TemperatureWorldView.class, double.class).getDeclaringClass() == IDeterminant.class
+                    || type.getMethod("overridePriority", TemperatureWorldView.class, double.class, double.class).getDeclaringClass() == IDeterminant.class;
+        } catch (NoSuchMethodException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Looks up the cached result of a determinant.
+     * @param cache The cache to look in, prepared for this execution.
+     * @param index The position of the determinant in the pipeline.
+     * @param dependencies The inputs the determinant depends on.
+     * @param input The result before running the determinant.
+     * @param lookup Receives the input, output and priority of the cached result, unless it is {@link #MISSING}.
+     * @return {@link #REUSABLE} if the result can be reused, {@link #STALE} if its inputs changed since,
+     *         or {@link #MISSING} if there is none.
+     */
+    private static int lookup(DeterminantCache cache, int index, int dependencies, double input, double[] lookup) {
+        if (!cache.hasResult(index)) return MISSING;
+
+        lookup[0] = cache.input(index);
+        lookup[1] = cache.output(index);
+        lookup[2] = cache.priority(index);
+
+        return cache.isReusable(index, dependencies, input) ? REUSABLE : STALE;
+    }
+
+    /**
+     * Determines whether the remaining determinants can't change the clamped result, or move it across a threshold.
+     * @param result The result so far.
+     * @param remaining The most the remaining determinants may change the result by.
+     * @param overridden Whether a determinant has overridden the result so far.
+     * @param overrideValue The result of the best override so far.
+     * @param mayOverride Whether any remaining determinant may override the result.
+     * @param thresholds The temperatures the caller compares the result with, or null if it needs the exact result.
+     */
+    private static boolean isSettled(double result, double remaining, boolean overridden, double overrideValue,
+                                     boolean mayOverride, @Nullable double[] thresholds) {
+        // An override from a remaining determinant, or the final result if there is none, ends up within
+        // the remaining contributions of the result so far.
+        double low = result - remaining;
+        double high = result + remaining;
+
+        double lowest;
+        double highest;
+
+        if (overridden) {
+            lowest = Util.Mathf.clamp(Math.min(low, overrideValue), -3.0, 3.0);
+            highest = Util.Mathf.clamp(Math.max(high, overrideValue), -3.0, 3.0);
+        } else if (!mayOverride) {
+            lowest = Util.Mathf.clamp(low, -2.0, 2.0);
+            highest = Util.Mathf.clamp(high, -2.0, 2.0);
+        } else {
+            lowest = Math.min(Util.Mathf.clamp(low, -2.0, 2.0), Util.Mathf.clamp(low, -3.0, 3.0));
+            highest = Math.max(Util.Mathf.clamp(high, -2.0, 2.0), Util.Mathf.clamp(high, -3.0, 3.0));
+        }
+
+        if (lowest == highest) return true;
+        if (thresholds == null) return false;
+
+        for (double threshold : thresholds)
+            if (lowest <= threshold && threshold <= highest) return false;
+
+        return true;
+    }
+}
@@ -0,0 +1,97 @@
+package dev.realsgii2.temperatures.api.registry.determinant;
+
+import dev.realsgii2.temperatures.ConfigSnapshot;
+import dev.realsgii2.temperatures.api.world.TemperatureWorldView;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.level.Level;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The determinants to run in one dimension, and the parameters they run with.
+ * <p>
+ * Profiles are configured in the common configuration. The {@link DeterminantRegistry} compiles every profile
+ * into its own pipelines, so dimensions only run the determinants they list. Dimensions without a profile run
+ * every registered determinant with their default parameters.
+ *
+ * @param dimension    The dimension this profile applies to.
+ * @param determinants The IDs of the determinants to run. IDs that aren't registered are ignored.
+ * @param parameters   The parameters given to the determinants, such as {@link #AMBIENT_RADIUS}.
+ */
+public record DeterminantProfile(ResourceLocation dimension, Set<ResourceLocation> determinants,
+                                 Map<String, String> parameters) {
+    /**
+     * The furthest horizontal distance the ambient determinant checks blocks at: within [0, 3].
+     */
+    public static final String AMBIENT_RADIUS = "ambientRadius";
+
+    /**
+     * The amount of biomes sampled to blend biome temperatures: a square number within [1, 64].
+     */
+    public static final String BIOME_SAMPLES = "biomeSamples";
+
+    /**
+     * Gets the profile of a dimension.
+     * @param dimension The dimension to get the profile of.
+     * @return The profile, or null if the dimension runs every determinant with their default parameters.
+     */
+    public static @Nullable DeterminantProfile get(ResourceKey<Level> dimension) {
+        return ConfigSnapshot.get().profiles().get(dimension.location());
+    }
+
+    /**
+     * Gets an integer parameter of the profile of a view's dimension.
+     * @param view The world the determinant runs in.
+     * @param key The name of the parameter.
+     * @param fallback The value to use if the dimension has no profile, or the profile doesn't set the parameter.
+     */
+    public static int getInt(TemperatureWorldView view, String key, int fallback) {
+        return getInt(view.dimension(), key, fallback);
+    }
+
+    /**
+     * Gets an integer parameter of the profile of a dimension.
+     * @param dimension The dimension the determinant runs in.
+     * @param key The name of the parameter.
+     * @param fallback The value to use if the dimension has no profile, or the profile doesn't set the parameter.
+     */
+    public static int getInt(ResourceKey<Level> dimension, String key, int fallback) {
+        DeterminantProfile profile = get(dimension);
+        return profile == null ? fallback : profile.getInt(key, fallback);
+    }
+
+    /**
+     * Gets an integer parameter of this profile.
+     * @param key The name of the parameter.
+     * @param fallback The value to use if the parameter isn't set or isn't an integer.
+     */
+    public int getInt(String key, int fallback) {
+        String value = parameters.get(key);
+        if (value == null) return fallback;
+
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+
+    /**
+     * Gets a decimal parameter of this profile.
+     * @param key The name of the parameter.
+     * @param fallback The value to use if the parameter isn't set or isn't a number.
+     */
+    public double getDouble(String key, double fallback) {
+        String value = parameters.get(key);
+        if (value == null) return fallback;
+
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+}
@@ -1,17 +1,23 @@
 package dev.realsgii2.temperatures.api.registry.determinant;
 
+import dev.realsgii2.temperatures.ConfigSnapshot;
 import dev.realsgii2.temperatures.TemperaturesMod;
-import dev.realsgii2.temperatures.Util;
 import dev.realsgii2.temperatures.api.registry.TemperatureRegistries;
+import dev.realsgii2.temperatures.api.world.TemperatureWorldView;
+import dev.realsgii2.temperatures.handler.world.LocationCache;
+import net.minecraft.resources.ResourceKey;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.level.Level;
 import net.minecraftforge.eventbus.api.IEventBus;
 import net.minecraftforge.registries.DeferredRegister;
 import net.minecraftforge.registries.IForgeRegistry;
 import net.minecraftforge.registries.RegistryBuilder;
 import net.minecraftforge.registries.RegistryObject;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -19,6 +25,8 @@ import java.util.stream.Collectors;
  * A wrapper class that handles:
  * - Registering {@link IDeterminant}s with support for {@link dev.realsgii2.temperatures.model.INameable}s.
  * - Getting subsets of or all IDeterminants.
+ * - Compiling subsets of IDeterminants into {@link DeterminantPipeline}s once the registry is frozen,
+ *   once more for the {@link DeterminantProfile} of every configured dimension.
  * - Executing Determinants to get the temperature of the player's position.
  */
 public class DeterminantRegistry {
@@ -32,12 +40,29 @@ public class DeterminantRegistry {
      */
     private static Supplier<IForgeRegistry<IDeterminant>> primaryRegistry = () -> null;
 
+    /**
+     * The exclusions of every {@link Handle} created, indexed by {@link Handle#index}.
+     */
+    private static final List<Set<ResourceLocation>> handleExclusions = new ArrayList<>();
+
+    /**
+     * The pipelines compiled for every {@link Handle} and {@link DeterminantProfile}.
+     * Null until first requested after the registry is baked.
+     */
+    private static volatile Compiled compiled = null;
+
+    /**
+     * A handle to a pipeline running every registered IDeterminant.
+     */
+    public static final Handle ALL = handle();
+
     public DeterminantRegistry(String namespace) {
         register = DeferredRegister.create(TemperatureRegistries.DETERMINANTS, TemperaturesMod.MOD_ID);
 
         if (namespace.equals(TemperaturesMod.MOD_ID)) {
             primaryRegistry = register.makeRegistry(() -> new RegistryBuilder<IDeterminant>()
                     .disableOverrides()
+                    .onBake((owner, stage) -> invalidate())
             );
         }
     }
@@ -78,6 +103,16 @@ public class DeterminantRegistry {
         return primaryRegistry.get().getKeys();
     }
 
+    /**
+     * Gets the ID of an IDeterminant.
+     * @param determinant The determinant to get the ID of.
+     * @return The ID, or null if the determinant isn't registered.
+     */
+    public static @Nullable ResourceLocation key(IDeterminant determinant) {
+        IForgeRegistry<IDeterminant> registry = primaryRegistry.get();
+        return registry == null ? null : registry.getKey(determinant);
+    }
+
     /**
      * Gets all the IDeterminants this registry knows.
      */
@@ -107,42 +142,184 @@ public class DeterminantRegistry {
     }
 
     /**
-     * Executes all passed IDeterminants to get the current temperature.
+     * Creates a handle to a pipeline of every IDeterminant but the excluded ones.
+     * Handles are cheap to query, so they should be created once and stored.
+     * @param excludedIds The IDs to exclude.
+     */
+    public static Handle handle(ResourceLocation... excludedIds) {
+        synchronized (handleExclusions) {
+            handleExclusions.add(Set.of(excludedIds));
+            compiled = null;
+
+            return new Handle(handleExclusions.size() - 1);
+        }
+    }
+
+    /**
+     * Gets the compiled pipeline of a handle, running every registered IDeterminant it doesn't exclude.
+     * @param handle The handle to get the pipeline of.
+     */
+    public static DeterminantPipeline pipeline(Handle handle) {
+        return compiled().pipelines[handle.index];
+    }
+
+    /**
+     * Gets the compiled pipeline of a handle in a dimension. If the dimension has a {@link DeterminantProfile},
+     * the pipeline only runs the IDeterminants the profile lists.
+     * @param handle The handle to get the pipeline of.
+     * @param dimension The dimension the pipeline is executed in.
+     */
+    public static DeterminantPipeline pipeline(Handle handle, ResourceKey<Level> dimension) {
+        Compiled current = compiled();
+        DeterminantPipeline[] profile = current.profiles.get(dimension.location());
+
+        return (profile == null ? current.pipelines : profile)[handle.index];
+    }
+
+    /**
+     * Gets the compiled pipelines, compiling them if the registry, the handles, or the profiles changed.
+     */
+    private static Compiled compiled() {
+        Compiled current = compiled;
+        if (current == null || current.configVersion != ConfigSnapshot.get().version()) current = compile();
+
+        return current;
+    }
+
+    /**
+     * Compiles the pipelines of all handles and profiles from the current registry contents.
+     */
+    private static Compiled compile() {
+        synchronized (handleExclusions) {
+            ConfigSnapshot config = ConfigSnapshot.get();
+            if (compiled != null && compiled.configVersion == config.version()) return compiled;
+
+            Map<ResourceLocation, DeterminantPipeline[]> profiles = new HashMap<>();
+            for (DeterminantProfile profile : config.profiles().values())
+                profiles.put(profile.dimension(), compile(profile.determinants()::contains));
+
+            compiled = new Compiled(config.version(), compile(x -> true), Map.copyOf(profiles));
+            return compiled;
+        }
+    }
+
+    /**
+     * Compiles the pipelines of all handles, out of a subset of the registered IDeterminants.
+     * @param included Whether an IDeterminant of this ID may run.
+     * @return The pipelines, indexed by {@link Handle#index}.
+     */
+    private static DeterminantPipeline[] compile(Predicate<ResourceLocation> included) {
+        DeterminantPipeline[] pipelines = new DeterminantPipeline[handleExclusions.size()];
+        for (int i = 0; i < pipelines.length; i++) {
+            Set<ResourceLocation> excluded = handleExclusions.get(i);
+            pipelines[i] = new DeterminantPipeline(getAll(
+                    keys().stream().filter(x -> included.test(x) && !excluded.contains(x)).collect(Collectors.toCollection(LinkedHashSet::new))
+            ));
+        }
+
+        return pipelines;
+    }
+
+    /**
+     * Drops every compiled pipeline, so they are recompiled from the registry when next requested.
+     */
+    private static void invalidate() {
+        synchronized (handleExclusions) {
+            compiled = null;
+        }
+    }
+
+    /**
+     * Executes the pipeline of a handle to get the current temperature.
      * @param player The player to base the determinant off of.
-     * @param determinants The determinants to use.
+     * @param handle The handle of the pipeline to use.
      * @return A number from [-3, 3] representing the combined result of all determinants.
      */
-    public static double compute(Player player, List<IDeterminant> determinants) {
-        Objects.requireNonNull(determinants);
+    public static double compute(Player player, Handle handle) {
+        return pipeline(handle, player.level().dimension()).compute(player);
+    }
 
-        determinants.sort(Comparator.comparingInt(IDeterminant::order));
+    /**
+     * Executes the pipeline of a handle to get the temperature of a position.
+     * @param view The world around the position to base the determinants off of.
+     * @param handle The handle of the pipeline to use.
+     * @return A number from [-3, 3] representing the combined result of all determinants.
+     */
+    public static double compute(TemperatureWorldView view, Handle handle) {
+        return pipeline(handle, view.dimension()).compute(view);
+    }
 
-        double result = 0.0;
-        Map<Integer, Double> possibleOverrides = new HashMap<>();
+    /**
+     * Executes the pipeline of a handle to get the temperature of a position, reusing cached results
+     * of determinants whose inputs haven't changed, including those shared by the {@link LocationCache}.
+     * @param view The world around the position to base the determinants off of.
+     * @param handle The handle of the pipeline to use.
+     * @param cache The results of previous executions of this handle for the same position or player.
+     * @return A number from [-3, 3] representing the combined result of all determinants.
+     */
+    public static double compute(TemperatureWorldView view, Handle handle, DeterminantCache cache) {
+        DeterminantPipeline pipeline = pipeline(handle, view.dimension());
+        return pipeline.compute(view, cache, LocationCache.get(pipeline, view), null);
+    }
 
-        for (IDeterminant determinant : determinants) {
-            double oldResult = result;
-            result = determinant.getTemperature(player, result);
+    /**
+     * Executes the pipeline of a handle to get the temperature of a position, reusing cached results, and only
+     * as far as needed to tell which side of each threshold the temperature is on.
+     * @param view The world around the position to base the determinants off of.
+     * @param handle The handle of the pipeline to use.
+     * @param cache The results of previous executions of this handle for the same position or player.
+     * @param thresholds The temperatures the caller compares the result with, or null if it needs the exact result.
+     * @return A number from [-3, 3] on the same side of (or equal to) each threshold as the combined result of all
+     *         determinants.
+     */
+    public static double compute(TemperatureWorldView view, Handle handle, DeterminantCache cache, @Nullable double[] thresholds) {
+        DeterminantPipeline pipeline = pipeline(handle, view.dimension());
+        return pipeline.compute(view, cache, LocationCache.get(pipeline, view), thresholds);
+    }
 
-            int overridePriority = determinant.overridePriority(player, oldResult, result);
-            if (overridePriority != IDeterminant.NO_OVERRIDE) {
-                possibleOverrides.put(overridePriority, result);
-            }
-        }
+    /**
+     * Executes all passed IDeterminants to get the current temperature.
+     * Prefer {@link #compute(Player, Handle)}, which doesn't sort the determinants on every call.
+     * @param player The player to base the determinant off of.
+     * @param determinants The determinants to use.
+     * @return A number from [-3, 3] representing the combined result of all determinants.
+     */
+    public static double compute(Player player, List<IDeterminant> determinants) {
+        return new DeterminantPipeline(determinants).compute(player);
+    }
 
-        if (possibleOverrides.isEmpty())
-            return Util.Mathf.clamp(result, -2.0, 2.0);
-        else {
-            Util.Pair<Integer, Double> largestOverride = Util.Pair.of(IDeterminant.NO_OVERRIDE, 0.0);
+    /**
+     * Executes all passed IDeterminants to get the temperature of a position.
+     * Prefer {@link #compute(TemperatureWorldView, Handle)}, which doesn't sort the determinants on every call.
+     * @param view The world around the position to base the determinants off of.
+     * @param determinants The determinants to use.
+     * @return A number from [-3, 3] representing the combined result of all determinants.
+     */
+    public static double compute(TemperatureWorldView view, List<IDeterminant> determinants) {
+        return new DeterminantPipeline(determinants).compute(view);
+    }
+
+    /**
+     * The pipelines compiled from one version of the registry, the handles and the configuration.
+     * @param configVersion The version of the {@link ConfigSnapshot} the profiles were read from.
+     * @param pipelines The pipelines of dimensions without a profile, indexed by {@link Handle#index}.
+     * @param profiles The pipelines of dimensions with a profile, indexed by {@link Handle#index}.
+     */
+    private record Compiled(int configVersion, DeterminantPipeline[] pipelines,
+                            Map<ResourceLocation, DeterminantPipeline[]> profiles) {
+    }
 
-            for (int key : possibleOverrides.keySet()) {
-                double value = possibleOverrides.get(key);
-                if (key > largestOverride.first) {
-                    largestOverride = Util.Pair.of(key, value);
-                }
-            }
+    /**
+     * A reference to a pipeline compiled by this registry.
+     */
+    public static final class Handle {
+        /**
+         * The index of the pipeline this handle refers to.
+         */
+        private final int index;
 
-            return Util.Mathf.clamp(largestOverride.second, -3.0, 3.0);
+        private Handle(int index) {
+            this.index = index;
         }
     }
 }
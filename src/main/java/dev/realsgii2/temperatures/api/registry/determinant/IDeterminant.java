@@ -1,5 +1,7 @@
 package dev.realsgii2.temperatures.api.registry.determinant;
 
+import dev.realsgii2.temperatures.api.world.LiveWorldView;
+import dev.realsgii2.temperatures.api.world.TemperatureWorldView;
 import dev.realsgii2.temperatures.model.INameable;
 import net.minecraft.world.entity.player.Player;
 
@@ -28,24 +30,172 @@ public interface IDeterminant {
      */
     int RUN_LAST = Integer.MAX_VALUE;
 
+    /**
+     * The result depends on the position, down to the block.
+     */
+    int POSITION = 1;
+
+    /**
+     * The result depends on the time of day. Reused results may lag it by up to {@link #TIME_BUCKET_TICKS}.
+     */
+    int TIME_BUCKET = 1 << 1;
+
+    /**
+     * The result depends on the weather.
+     */
+    int WEATHER = 1 << 2;
+
+    /**
+     * The result depends on the dimension.
+     */
+    int DIMENSION = 1 << 3;
+
+    /**
+     * The result depends on the blocks within {@link #NEARBY_BLOCKS_RADIUS} blocks of the position.
+     */
+    int NEARBY_BLOCKS = 1 << 4;
+
+    /**
+     * The result depends on the player's equipment.
+     */
+    int EQUIPMENT = 1 << 5;
+
+    /**
+     * The result depends on whether the position is in water.
+     */
+    int IN_WATER = 1 << 6;
+
+    /**
+     * The result may depend on anything, so it is never reused.
+     */
+    int ANY_INPUT = ~0;
+
+    /**
+     * The {@link #estimatedCost()} of Determinants that don't declare one.
+     */
+    int UNKNOWN_COST = 1000;
+
+    /**
+     * The length of the time buckets tracked by {@link #TIME_BUCKET}, in ticks.
+     */
+    int TIME_BUCKET_TICKS = 20;
+
+    /**
+     * The distance of the blocks tracked by {@link #NEARBY_BLOCKS}.
+     */
+    int NEARBY_BLOCKS_RADIUS = 8;
+
     /**
      * Modifies the result of the previous returned Determinants.
+     * <p>
+     * Determinants must implement either this or {@link #getTemperature(TemperatureWorldView, double)}.
+     * Determinants only implementing this read the live world, so they always run on the thread owning it.
      * @param player The player to base this calculation off of.
      * @param current The current stored result.
      * @return The value to replace `current` with.
      */
-    double getTemperature(Player player, double current);
+    default double getTemperature(Player player, double current) {
+        return getTemperature(LiveWorldView.of(player), current);
+    }
+
+    /**
+     * Modifies the result of the previous returned Determinants, reading the world through a view.
+     * <p>
+     * Determinants that only implement {@link #getTemperature(Player, double)} are skipped when the
+     * view has no player, leaving the result unchanged.
+     * @param view The world around the position to base this calculation off of.
+     * @param current The current stored result.
+     * @return The value to replace `current` with.
+     */
+    default double getTemperature(TemperatureWorldView view, double current) {
+        Player player = view.player();
+        return player != null ? getTemperature(player, current) : current;
+    }
 
     /**
      * Determines whether this determinant's result should override if others.
      * If multiple overrides are used, the one that returns the <b>highest</b>
      * value will be used.
+     * <p>
+     * Determinants must implement either this or {@link #overridePriority(TemperatureWorldView, double, double)}.
      * @param player The player to base this calculation off of.
      * @param oldResult The result before running this determinant.
      * @param newResult The result after running this determinant.
      * @return An integer representing how important this override is. Return {@link #NO_OVERRIDE} to ignore.
      */
-    int overridePriority(Player player, double oldResult, double newResult);
+    default int overridePriority(Player player, double oldResult, double newResult) {
+        return overridePriority(LiveWorldView.of(player), oldResult, newResult);
+    }
+
+    /**
+     * Determines whether this determinant's result should override if others, reading the world through a view.
+     * <p>
+     * Determinants that only implement {@link #overridePriority(Player, double, double)} never override
+     * when the view has no player.
+     * @param view The world around the position to base this calculation off of.
+     * @param oldResult The result before running this determinant.
+     * @param newResult The result after running this determinant.
+     * @return An integer representing how important this override is. Return {@link #NO_OVERRIDE} to ignore.
+     */
+    default int overridePriority(TemperatureWorldView view, double oldResult, double newResult) {
+        Player player = view.player();
+        return player != null ? overridePriority(player, oldResult, newResult) : NO_OVERRIDE;
+    }
+
+    /**
+     * Gets the highest priority {@link #overridePriority(TemperatureWorldView, double, double)} may return at a
+     * position, so this Determinant is skipped once it can't beat an override already found. Must be cheap.
+     * @param view The world around the position.
+     * @return The highest priority, {@link #NO_OVERRIDE} if this Determinant doesn't override there,
+     *         or {@link Integer#MAX_VALUE} (the default) if it isn't known.
+     */
+    default int overridePriorityBound(TemperatureWorldView view) {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Gets a priority this Determinant is guaranteed to override with at a position, whatever the result before it.
+     * The result of a Determinant returning a guarantee must not depend on the result before it either, so every
+     * Determinant whose override can't beat it is skipped. Must be cheap.
+     * @param view The world around the position.
+     * @return The guaranteed priority, at least 0, or {@link #NO_OVERRIDE} (the default) if there is none.
+     */
+    default int guaranteedOverridePriority(TemperatureWorldView view) {
+        return NO_OVERRIDE;
+    }
+
+    /**
+     * Estimates how long {@link #getTemperature(TemperatureWorldView, double)} takes, in nanoseconds.
+     * Determinants of the same {@link #order()} run cheapest first, so the most expensive ones are the
+     * likeliest to be skipped once they can't change the result. Only the relative values matter.
+     * @return The estimated cost, or {@link #UNKNOWN_COST} (the default).
+     */
+    default int estimatedCost() {
+        return UNKNOWN_COST;
+    }
+
+    /**
+     * Gets the most {@link #getTemperature(TemperatureWorldView, double)} may change the result by at a position,
+     * whatever the result before it. Once the remaining Determinants can't move the result across any threshold
+     * the caller is interested in, they are skipped. Must be cheap.
+     * @param view The world around the position.
+     * @return The largest absolute change, or {@link Double#POSITIVE_INFINITY} (the default) if it isn't known.
+     */
+    default double contributionBound(TemperatureWorldView view) {
+        return Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Declares the inputs the result of this Determinant depends on, other than the result before it.
+     * While none of them change, the previous result is reused instead of running this Determinant again.
+     * <p>
+     * Combine {@link #POSITION}, {@link #TIME_BUCKET}, {@link #WEATHER}, {@link #DIMENSION},
+     * {@link #NEARBY_BLOCKS}, {@link #EQUIPMENT} and {@link #IN_WATER}, or return {@link #ANY_INPUT}
+     * (the default) to run it every time.
+     */
+    default int dependencies() {
+        return ANY_INPUT;
+    }
 
     /**
      * Sets the order this Determinant is run in.
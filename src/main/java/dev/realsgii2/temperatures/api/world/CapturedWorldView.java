@@ -0,0 +1,234 @@
+package dev.realsgii2.temperatures.api.world;
+
+import dev.realsgii2.temperatures.api.registry.determinant.DeterminantCache;
+import dev.realsgii2.temperatures.handler.EvaluationPool;
+import dev.realsgii2.temperatures.handler.ResistanceCache;
+import dev.realsgii2.temperatures.handler.world.SectionSnapshots;
+import dev.realsgii2.temperatures.handler.world.WarmBlockIndex;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Holder;
+import net.minecraft.core.QuartPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.util.Mth;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.biome.Biome;
+import net.minecraft.world.level.biome.BiomeManager;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A {@link TemperatureWorldView} of a loaded level that can be read away from the thread owning the level.
+ * <p>
+ * Everything determinants read is captured when the view is created, on the thread owning the level: the chunk
+ * sections around the position are taken from the {@link SectionSnapshots} of the level, which are shared by
+ * every view covering them, and the time, weather, stamps and the player state a
+ * {@link dev.realsgii2.temperatures.handler.TemperatureSnapshot} needs are read once. Blocks outside the captured
+ * sections are void air, and biomes outside them are the biome at the position; the level itself is only read
+ * by determinants reaching caches kept with it.
+ * <p>
+ * Determinants reading the live world instead ({@link #runLive(Runnable)}) are handed over to the server thread
+ * while the {@link EvaluationPool} waits for its workers.
+ */
+public final class CapturedWorldView implements TemperatureWorldView {
+    /**
+     * How many chunks are captured around the chunk of the position, in each direction.
+     * This covers the biomes blended around the position, and the blocks warming it.
+     */
+    private static final int RADIUS = 1;
+    private static final int SIZE = RADIUS * 2 + 1;
+
+    /**
+     * How many blocks are captured above and below the position.
+     */
+    private static final int HEIGHT = 8;
+
+    private final Level level;
+    private final BlockPos position;
+    private final Player player;
+    private final long dayTime;
+    private final float rainLevel;
+    private final boolean raining;
+    private final boolean inWater;
+    private final int tickCount;
+    private final boolean onFire;
+    private final ResistanceCache.Resistances resistances;
+    private final long[] stamps = new long[DeterminantCache.INPUTS];
+
+    private final int minChunkX;
+    private final int minSectionY;
+    private final int minChunkZ;
+    private final int sectionsY;
+    private final SectionSnapshots.Section[] sections;
+    private final Holder<Biome> fallbackBiome;
+    private final BiomeManager biomeManager;
+
+    private CapturedWorldView(LiveWorldView live, Level level) {
+        this.level = level;
+        this.position = live.position();
+        this.player = live.player();
+        this.dayTime = live.dayTime();
+        this.rainLevel = live.rainLevel();
+        this.raining = live.isRaining();
+        this.inWater = live.isInWater();
+        this.tickCount = player.tickCount;
+        this.onFire = player.isOnFire();
+        this.resistances = ResistanceCache.get(player);
+
+        for (int i = 0; i < DeterminantCache.INPUTS; i++) stamps[i] = live.stamp(1 << i);
+
+        this.minChunkX = SectionPos.blockToSectionCoord(position.getX()) - RADIUS;
+        this.minChunkZ = SectionPos.blockToSectionCoord(position.getZ()) - RADIUS;
+        this.minSectionY = SectionPos.blockToSectionCoord(position.getY() - HEIGHT);
+        this.sectionsY = SectionPos.blockToSectionCoord(position.getY() + HEIGHT) - minSectionY + 1;
+        this.sections = new SectionSnapshots.Section[SIZE * SIZE * sectionsY];
+        this.fallbackBiome = level.getBiome(position);
+        this.biomeManager = level.getBiomeManager().withDifferentSource(this::getNoiseBiome);
+
+        SectionSnapshots snapshots = SectionSnapshots.get(level);
+        if (snapshots == null) return;
+
+        // The warm blocks of changed sections are indexed again now, as the index only rescans on this thread.
+        WarmBlockIndex index = WarmBlockIndex.get(level);
+
+        for (int x = 0; x < SIZE; x++) {
+            for (int z = 0; z < SIZE; z++) {
+                LevelChunk chunk = level.getChunkSource().getChunkNow(minChunkX + x, minChunkZ + z);
+                if (chunk == null) continue;
+
+                for (int y = 0; y < sectionsY; y++) {
+                    sections[(x * SIZE + z) * sectionsY + y] = snapshots.section(chunk, minSectionY + y);
+                    if (index != null) index.section(minChunkX + x, minSectionY + y, minChunkZ + z);
+                }
+            }
+        }
+    }
+
+    /**
+     * Captures the world around a player. Must be called on the thread owning the player's level.
+     * @param player The player to view the world of.
+     */
+    public static CapturedWorldView of(@NotNull Player player) {
+        return new CapturedWorldView(LiveWorldView.of(player), player.level());
+    }
+
+    /**
+     * Gets a captured section.
+     * @param sectionX The X coordinate of the section.
+     * @param sectionY The Y coordinate of the section.
+     * @param sectionZ The Z coordinate of the section.
+     * @return The section, or null if it wasn't captured.
+     */
+    private @Nullable SectionSnapshots.Section getSection(int sectionX, int sectionY, int sectionZ) {
+        int x = sectionX - minChunkX;
+        int y = sectionY - minSectionY;
+        int z = sectionZ - minChunkZ;
+
+        if (x < 0 || x >= SIZE || y < 0 || y >= sectionsY || z < 0 || z >= SIZE) return null;
+        return sections[(x * SIZE + z) * sectionsY + y];
+    }
+
+    private Holder<Biome> getNoiseBiome(int quartX, int quartY, int quartZ) {
+        // Biomes above and below the level are those of its top and bottom, like in chunks.
+        int minQuartY = QuartPos.fromBlock(level.getMinBuildHeight());
+        int clampedY = Mth.clamp(quartY, minQuartY, minQuartY + QuartPos.fromBlock(level.getHeight()) - 1);
+
+        SectionSnapshots.Section section = getSection(QuartPos.toSection(quartX), QuartPos.toSection(clampedY), QuartPos.toSection(quartZ));
+        return section != null ? section.getNoiseBiome(quartX, clampedY, quartZ) : fallbackBiome;
+    }
+
+    @Override
+    public BlockPos position() {
+        return position;
+    }
+
+    @Override
+    public BlockState getBlockState(BlockPos pos) {
+        if (level.isOutsideBuildHeight(pos)) return Blocks.VOID_AIR.defaultBlockState();
+
+        SectionSnapshots.Section section = getSection(
+                SectionPos.blockToSectionCoord(pos.getX()),
+                SectionPos.blockToSectionCoord(pos.getY()),
+                SectionPos.blockToSectionCoord(pos.getZ())
+        );
+
+        return section != null ? section.getBlockState(pos.getX(), pos.getY(), pos.getZ()) : Blocks.VOID_AIR.defaultBlockState();
+    }
+
+    @Override
+    public Holder<Biome> getBiome(BlockPos pos) {
+        return biomeManager.getBiome(pos);
+    }
+
+    @Override
+    public long dayTime() {
+        return dayTime;
+    }
+
+    @Override
+    public float rainLevel() {
+        return rainLevel;
+    }
+
+    @Override
+    public boolean isRaining() {
+        return raining;
+    }
+
+    @Override
+    public ResourceKey<Level> dimension() {
+        return level.dimension();
+    }
+
+    @Override
+    public boolean isInWater() {
+        return inWater;
+    }
+
+    @Override
+    public long stamp(int input) {
+        int index = Integer.numberOfTrailingZeros(input);
+        return input == 1 << index && index < DeterminantCache.INPUTS ? stamps[index] : UNTRACKED;
+    }
+
+    /**
+     * The player's tick count when this view was captured.
+     */
+    public int tickCount() {
+        return tickCount;
+    }
+
+    /**
+     * Whether the player was on fire when this view was captured.
+     */
+    public boolean isOnFire() {
+        return onFire;
+    }
+
+    /**
+     * The player's resistances when this view was captured.
+     */
+    public ResistanceCache.Resistances resistances() {
+        return resistances;
+    }
+
+    @Override
+    public void runLive(Runnable task) {
+        if (level.getServer() == null || level.getServer().isSameThread()) task.run();
+        else EvaluationPool.runOnServerThread(task);
+    }
+
+    @Override
+    public @Nullable Player player() {
+        return player;
+    }
+
+    @Override
+    public @NotNull Level level() {
+        return level;
+    }
+}
@@ -0,0 +1,157 @@
+package dev.realsgii2.temperatures.api.world;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Holder;
+import net.minecraft.core.QuartPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.biome.Biome;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A {@link TemperatureWorldView} of a world kept entirely in memory, such as a synthetic world for
+ * benchmarks or a copy of a loaded one. Blocks that weren't set are air, and biomes that weren't set
+ * are the default biome.
+ * <p>
+ * Views are filled with their setters; once filled, they may be read from any thread.
+ */
+public final class InMemoryWorldView implements TemperatureWorldView {
+    private final Long2ObjectMap<BlockState> blocks = new Long2ObjectOpenHashMap<>();
+    private final Long2ObjectMap<Holder<Biome>> biomes = new Long2ObjectOpenHashMap<>();
+
+    private BlockPos position;
+    private Holder<Biome> defaultBiome;
+    private ResourceKey<Level> dimension;
+    private long dayTime = 0;
+    private float rainLevel = 0.0F;
+    private boolean inWater = false;
+
+    /**
+     * Incremented by every setter, as the stamp of every input.
+     */
+    private long modifications = 0;
+
+    /**
+     * Creates an empty world.
+     * @param position The position the temperature is determined at.
+     * @param defaultBiome The biome of every position whose biome wasn't set.
+     */
+    public InMemoryWorldView(@NotNull BlockPos position, @NotNull Holder<Biome> defaultBiome) {
+        this.position = position.immutable();
+        this.defaultBiome = defaultBiome;
+    }
+
+    /**
+     * Sets the block at a position.
+     * @param pos The position of the block.
+     * @param state The block to set.
+     */
+    public InMemoryWorldView setBlockState(BlockPos pos, BlockState state) {
+        modifications++;
+        blocks.put(pos.asLong(), state);
+        return this;
+    }
+
+    /**
+     * Sets the biome of the 4x4x4 cell containing a position, as biomes are stored by level chunks.
+     * @param pos A position within the cell.
+     * @param biome The biome to set.
+     */
+    public InMemoryWorldView setBiome(BlockPos pos, Holder<Biome> biome) {
+        modifications++;
+        biomes.put(quartKey(pos), biome);
+        return this;
+    }
+
+    public InMemoryWorldView setPosition(BlockPos position) {
+        modifications++;
+        this.position = position.immutable();
+        return this;
+    }
+
+    public InMemoryWorldView setDefaultBiome(Holder<Biome> defaultBiome) {
+        modifications++;
+        this.defaultBiome = defaultBiome;
+        return this;
+    }
+
+    public InMemoryWorldView setDimension(ResourceKey<Level> dimension) {
+        modifications++;
+        this.dimension = dimension;
+        return this;
+    }
+
+    public InMemoryWorldView setDayTime(long dayTime) {
+        modifications++;
+        this.dayTime = dayTime;
+        return this;
+    }
+
+    public InMemoryWorldView setRainLevel(float rainLevel) {
+        modifications++;
+        this.rainLevel = rainLevel;
+        return this;
+    }
+
+    public InMemoryWorldView setInWater(boolean inWater) {
+        modifications++;
+        this.inWater = inWater;
+        return this;
+    }
+
+    private static long quartKey(BlockPos pos) {
+        return BlockPos.asLong(QuartPos.fromBlock(pos.getX()), QuartPos.fromBlock(pos.getY()), QuartPos.fromBlock(pos.getZ()));
+    }
+
+    @Override
+    public BlockPos position() {
+        return position;
+    }
+
+    @Override
+    public BlockState getBlockState(BlockPos pos) {
+        BlockState state = blocks.get(pos.asLong());
+        return state != null ? state : Blocks.AIR.defaultBlockState();
+    }
+
+    @Override
+    public Holder<Biome> getBiome(BlockPos pos) {
+        Holder<Biome> biome = biomes.get(quartKey(pos));
+        return biome != null ? biome : defaultBiome;
+    }
+
+    @Override
+    public long dayTime() {
+        return dayTime;
+    }
+
+    @Override
+    public float rainLevel() {
+        return rainLevel;
+    }
+
+    /**
+     * The dimension of this world; the overworld unless set.
+     */
+    @Override
+    public ResourceKey<Level> dimension() {
+        return dimension != null ? dimension : Level.OVERWORLD;
+    }
+
+    @Override
+    public boolean isInWater() {
+        return inWater;
+    }
+
+    /**
+     * Changes whenever anything in this world is set.
+     */
+    @Override
+    public long stamp(int input) {
+        return modifications;
+    }
+}
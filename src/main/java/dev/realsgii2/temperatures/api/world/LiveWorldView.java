@@ -0,0 +1,119 @@
+package dev.realsgii2.temperatures.api.world;
+
+import dev.realsgii2.temperatures.api.registry.determinant.IDeterminant;
+import dev.realsgii2.temperatures.handler.EquipmentTracker;
+import dev.realsgii2.temperatures.handler.world.SectionModifications;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Holder;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.tags.FluidTags;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.biome.Biome;
+import net.minecraft.world.level.block.state.BlockState;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link TemperatureWorldView} reading a loaded level directly. Like the level itself,
+ * it should only be used from the thread owning the level.
+ */
+public final class LiveWorldView implements TemperatureWorldView {
+    private static final Map<ResourceKey<Level>, Long> DIMENSION_STAMPS = new ConcurrentHashMap<>();
+    private static final AtomicLong nextDimensionStamp = new AtomicLong();
+
+    private final Level level;
+    private final BlockPos position;
+    private final Player player;
+
+    private LiveWorldView(Level level, BlockPos position, @Nullable Player player) {
+        this.level = level;
+        this.position = position;
+        this.player = player;
+    }
+
+    /**
+     * Creates a view of the world around a player.
+     * @param player The player to view the world of.
+     */
+    public static LiveWorldView of(@NotNull Player player) {
+        return new LiveWorldView(player.level(), player.blockPosition(), player);
+    }
+
+    /**
+     * Creates a view of the world around a position, with no player.
+     * @param level The level to view.
+     * @param position The position to view the world around.
+     */
+    public static LiveWorldView at(@NotNull Level level, @NotNull BlockPos position) {
+        return new LiveWorldView(level, position.immutable(), null);
+    }
+
+    @Override
+    public BlockPos position() {
+        return position;
+    }
+
+    @Override
+    public BlockState getBlockState(BlockPos pos) {
+        return level.getBlockState(pos);
+    }
+
+    @Override
+    public Holder<Biome> getBiome(BlockPos pos) {
+        return level.getBiome(pos);
+    }
+
+    @Override
+    public long dayTime() {
+        return level.getDayTime();
+    }
+
+    @Override
+    public float rainLevel() {
+        return level.rainLevel;
+    }
+
+    @Override
+    public boolean isRaining() {
+        return level.isRaining();
+    }
+
+    @Override
+    public ResourceKey<Level> dimension() {
+        return level.dimension();
+    }
+
+    @Override
+    public boolean isInWater() {
+        return player != null ? player.isInWater() : level.getFluidState(position).is(FluidTags.WATER);
+    }
+
+    @Override
+    public long stamp(int input) {
+        return switch (input) {
+            case IDeterminant.POSITION -> position.asLong();
+            case IDeterminant.TIME_BUCKET -> level.getDayTime() / IDeterminant.TIME_BUCKET_TICKS;
+            case IDeterminant.WEATHER -> (long) Float.floatToIntBits(level.rainLevel) << 1 | (level.isRaining() ? 1 : 0);
+            case IDeterminant.DIMENSION -> DIMENSION_STAMPS.computeIfAbsent(level.dimension(), x -> nextDimensionStamp.getAndIncrement());
+            case IDeterminant.NEARBY_BLOCKS -> SectionModifications.version(level, position, IDeterminant.NEARBY_BLOCKS_RADIUS);
+            case IDeterminant.EQUIPMENT -> player == null ? UNTRACKED : EquipmentTracker.version(player);
+            case IDeterminant.IN_WATER -> isInWater() ? 1 : 0;
+            default -> UNTRACKED;
+        };
+    }
+
+    @Override
+    public @Nullable Player player() {
+        return player;
+    }
+
+    @Override
+    public @NotNull Level level() {
+        return level;
+    }
+}
@@ -0,0 +1,107 @@
+package dev.realsgii2.temperatures.api.world;
+
+import dev.realsgii2.temperatures.api.registry.determinant.IDeterminant;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Holder;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.biome.Biome;
+import net.minecraft.world.level.block.state.BlockState;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A read-only view of everything determinants may read about the world around a position.
+ * <p>
+ * Determinants reading the world through a view instead of a {@link Player} can run against worlds
+ * that aren't loaded, such as an {@link InMemoryWorldView}, and can be run away from the server thread
+ * if the view allows it.
+ */
+public interface TemperatureWorldView {
+    /**
+     * Returned by {@link #stamp(int)} when changes to an input aren't tracked.
+     */
+    long UNTRACKED = Long.MIN_VALUE;
+
+    /**
+     * The position the temperature is determined at.
+     */
+    BlockPos position();
+
+    /**
+     * Gets the block at a position.
+     * @param pos The position of the block.
+     */
+    BlockState getBlockState(BlockPos pos);
+
+    /**
+     * Gets the biome at a position.
+     * @param pos The position of the biome.
+     */
+    Holder<Biome> getBiome(BlockPos pos);
+
+    /**
+     * The time of day, in ticks.
+     */
+    long dayTime();
+
+    /**
+     * How heavy the rain is, from 0 (clear) to 1.
+     */
+    float rainLevel();
+
+    /**
+     * Whether it's raining, or snowing in cold biomes.
+     */
+    default boolean isRaining() {
+        return rainLevel() > 0.2F;
+    }
+
+    /**
+     * The dimension the position is in.
+     */
+    ResourceKey<Level> dimension();
+
+    /**
+     * Whether the position is in water.
+     */
+    boolean isInWater();
+
+    /**
+     * Gets a number that changes whenever an input of determinants changes, so their results can be
+     * reused while it stays the same.
+     * @param input One of the inputs declared by {@link IDeterminant#dependencies()}, such as {@link IDeterminant#POSITION}.
+     * @return The stamp of the input, or {@link #UNTRACKED} if changes to it aren't tracked.
+     */
+    default long stamp(int input) {
+        return UNTRACKED;
+    }
+
+    /**
+     * The player the temperature is determined for, if any.
+     */
+    @Nullable
+    default Player player() {
+        return null;
+    }
+
+    /**
+     * Runs a determinant reading the live world, such as one that only implements
+     * {@link IDeterminant#getTemperature(Player, double)}, on the thread it is safe to read it from.
+     * Views read away from the thread owning their level hand the task over to that thread and wait for it;
+     * others run it right away.
+     * @param task The task running the determinant.
+     */
+    default void runLive(Runnable task) {
+        task.run();
+    }
+
+    /**
+     * The loaded level this view reads, if any. Determinants may use it to reach caches kept with a
+     * level, but must still work without it.
+     */
+    @Nullable
+    default Level level() {
+        return null;
+    }
+}
@@ -0,0 +1,60 @@
+package dev.realsgii2.temperatures.gui;
+
+import dev.realsgii2.temperatures.TemperaturesMod;
+import net.minecraft.client.renderer.texture.TextureAtlasSprite;
+import net.minecraft.client.renderer.texture.TextureManager;
+import net.minecraft.client.resources.TextureAtlasHolder;
+import net.minecraft.resources.ResourceLocation;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Every texture of the temperature gauge, stitched into one atlas when resources are reloaded,
+ * so the gauge is drawn with a single texture.
+ * <p>
+ * The atlas stitches everything in {@code textures/gui/gauge}, as listed by {@code atlases/gauge.json}.
+ */
+public class GaugeAtlas extends TextureAtlasHolder {
+    public static final ResourceLocation LOCATION = TemperaturesMod.location("textures/atlas/gauge.png");
+
+    private static final String TEXTURE_PREFIX = "textures/gui/";
+    private static final String TEXTURE_SUFFIX = ".png";
+
+    private static GaugeAtlas instance = null;
+
+    /**
+     * The sprite names of the textures looked up so far. Names don't change when the atlas is stitched again.
+     */
+    private final Map<ResourceLocation, ResourceLocation> names = new HashMap<>();
+
+    public GaugeAtlas(TextureManager textureManager) {
+        super(textureManager, LOCATION, TemperaturesMod.location("gauge"));
+        instance = this;
+    }
+
+    /**
+     * Gets the atlas registered as a reload listener.
+     */
+    public static GaugeAtlas get() {
+        return instance;
+    }
+
+    /**
+     * Gets the sprite of a gauge texture.
+     * @param texture The location of the texture, such as those of {@link TemperatureGaugeAssets}.
+     */
+    public TextureAtlasSprite get(ResourceLocation texture) {
+        return getSprite(names.computeIfAbsent(texture, GaugeAtlas::getName));
+    }
+
+    private static ResourceLocation getName(ResourceLocation texture) {
+        String path = texture.getPath();
+
+        // Textures in textures/gui/gauge are stitched as gauge/..., without their extension.
+        if (path.startsWith(TEXTURE_PREFIX) && path.endsWith(TEXTURE_SUFFIX))
+            path = path.substring(TEXTURE_PREFIX.length(), path.length() - TEXTURE_SUFFIX.length());
+
+        return new ResourceLocation(texture.getNamespace(), path);
+    }
+}
@@ -0,0 +1,102 @@
+package dev.realsgii2.temperatures.gui;
+
+import dev.realsgii2.temperatures.Config;
+import dev.realsgii2.temperatures.TemperaturesMod;
+import dev.realsgii2.temperatures.Util;
+import dev.realsgii2.temperatures.handler.TemperatureSnapshot;
+import dev.realsgii2.temperatures.network.ClientTemperatureState;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.player.LocalPlayer;
+import net.minecraft.world.level.biome.Biome;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Everything the temperature gauge shows, derived once per client tick so rendering a frame only
+ * draws and animates it.
+ *
+ * @param textures        The textures of the gauge.
+ * @param targetRotation  The rotation the dial turns towards, in degrees.
+ * @param pinned          Whether the dial is at the end of the gauge, so it shouldn't turn towards it.
+ * @param showWarningRing Whether the warning ring is shown.
+ * @param freezing        Whether the ice cube is shown.
+ * @param burning         Whether the flame is shown.
+ * @param debugLines      The debug information to show, empty unless {@link Config.Client#debug()} is on.
+ */
+@Mod.EventBusSubscriber(modid = TemperaturesMod.MOD_ID, value = Dist.CLIENT)
+public record GaugeModel(TemperatureGaugeAssets.ImageMap textures, float targetRotation, boolean pinned,
+                         boolean showWarningRing, boolean freezing, boolean burning, List<String> debugLines) {
+    private static volatile GaugeModel current = null;
+
+    /**
+     * Gets the model derived on the last client tick.
+     * @return The model, or null if there is no temperature to show.
+     */
+    public static @Nullable GaugeModel get() {
+        return current;
+    }
+
+    /**
+     * Derives the model of a temperature.
+     * @param temperature The temperature to show.
+     */
+    public static GaugeModel of(TemperatureSnapshot temperature) {
+        float rotation = (float) (temperature.temperature() * 60.0F);
+        boolean pinned = false;
+
+        if (temperature.isAmbientFreezing()) {
+            rotation = -130.0f;
+            pinned = true;
+        }
+
+        if (temperature.isAmbientBurning() || temperature.isAmbientConsideredBurning()) {
+            rotation = 130.0f;
+            pinned = true;
+        }
+
+        TemperatureGaugeAssets.ImageMap textures = TemperatureGaugeAssets.getImageMap(temperature);
+
+        return new GaugeModel(
+                textures,
+                rotation,
+                pinned,
+                textures.warningRing() != null && !temperature.isAmbientExtreme(),
+                temperature.isPlayerFreezing(),
+                temperature.isPlayerConsideredBurning(),
+                Config.Client.debug() ? getDebugLines(temperature) : List.of()
+        );
+    }
+
+    /**
+     * Gets debug information about a temperature, shown if Config.Client.debug is true.
+     * @param temperature The temperature to describe.
+     */
+    private static List<String> getDebugLines(TemperatureSnapshot temperature) {
+        LocalPlayer player = Minecraft.getInstance().player;
+        List<String> lines = new ArrayList<>();
+        if (player == null) return lines;
+
+        lines.add("Rain level: " + player.level().rainLevel);
+        lines.add("Temperature " + temperature.temperature());
+        lines.add("Weights:");
+
+        for (Util.Pair<Biome, Double> biome : Util.World.getNearbyWeightedBiomes(player))
+            lines.add("  - " + Util.getBiomeId(player.level(), biome.first) + "(" + biome.second + ")");
+
+        return List.copyOf(lines);
+    }
+
+    @SubscribeEvent
+    public static void clientTick(TickEvent.ClientTickEvent event) {
+        if (event.phase != TickEvent.Phase.END) return;
+
+        TemperatureSnapshot temperature = ClientTemperatureState.get();
+        current = temperature == null ? null : of(temperature);
+    }
+}
@@ -2,7 +2,7 @@ package dev.realsgii2.temperatures.gui;
 
 import dev.realsgii2.temperatures.TemperaturesMod;
 import dev.realsgii2.temperatures.Util;
-import dev.realsgii2.temperatures.handler.Temperature;
+import dev.realsgii2.temperatures.handler.TemperatureSnapshot;
 import net.minecraft.resources.ResourceLocation;
 
 import java.util.*;
@@ -18,22 +18,22 @@ public class TemperatureGaugeAssets {
 
     /**
      * Gets the background of the gauge, displaying what temperatures are safe.
-     * @param temperature The Temperature to pull protection values from.
+     * @param temperature The TemperatureSnapshot to pull protection values from.
      * @return The texture of the background used by the temperature object.
      */
-    public static ResourceLocation getBackground(Temperature temperature) {
+    public static ResourceLocation getBackground(TemperatureSnapshot temperature) {
         if (temperature.isAmbientFreezing()) return ExtremeBackgroundTexture.TOO_COLD.texture;
         if (temperature.isAmbientConsideredBurning() || temperature.isAmbientBurning()) return ExtremeBackgroundTexture.TOO_HOT.texture;
 
-        return GaugeBackgroundTextures.get(Util.Pair.of(temperature.getColdResistance(), temperature.getHeatResistance()));
+        return GaugeBackgroundTextures.get(Util.Pair.of(temperature.coldResistance(), temperature.heatResistance()));
     }
 
     /**
      * Gets the rotator of the gauge, displaying whether values are extreme.
-     * @param temperature The Temperature to pull data from.
+     * @param temperature The TemperatureSnapshot to pull data from.
      * @return The texture of the dial of the gauge.
      */
-    public static ResourceLocation getRotator(Temperature temperature) {
+    public static ResourceLocation getRotator(TemperatureSnapshot temperature) {
         if (temperature.isAmbientFreezing()) return RotatorTexture.ICY.texture;
         else if (temperature.isAmbientConsideredBurning() || temperature.isAmbientBurning()) return RotatorTexture.VOLCANIC.texture;
 
@@ -43,10 +43,10 @@ public class TemperatureGaugeAssets {
     /**
      * Gets the texture of a ring indicating bad conditions.
      * Null returned if there is no bad condition.
-     * @param temperature The Temperature to pull data from.
+     * @param temperature The TemperatureSnapshot to pull data from.
      * @return The texture of the warning ring to use, if any.
      */
-    public static ResourceLocation getWarningRing(Temperature temperature) {
+    public static ResourceLocation getWarningRing(TemperatureSnapshot temperature) {
         if (temperature.isPlayerCold()) return WarningRingTexture.COLD.texture;
         else if (temperature.isPlayerHot()) return WarningRingTexture.HOT.texture;
 
@@ -55,10 +55,10 @@ public class TemperatureGaugeAssets {
 
     /**
      * Combines all the textures needed into one data class.
-     * @param temperature The Temperature to pull data from.
-     * @return A container of all the textures this Temperature represents.
+     * @param temperature The TemperatureSnapshot to pull data from.
+     * @return A container of all the textures this TemperatureSnapshot represents.
      */
-    public static ImageMap getImageMap(Temperature temperature) {
+    public static ImageMap getImageMap(TemperatureSnapshot temperature) {
         return new ImageMap(getBackground(temperature), getRotator(temperature), getWarningRing(temperature));
     }
 
@@ -126,8 +126,7 @@ public class TemperatureGaugeAssets {
     };
 
     /**
-     * The list of sprites used by the flame.
-     * TODO: Consider making an actual sprite
+     * The list of sprites used by the flame, drawn from the {@link GaugeAtlas}.
      */
     public static final List<ResourceLocation> FlameSprites = new ArrayList<>() {{
         for (int i = 1; i < 30; i++)
@@ -4,11 +4,9 @@ import dev.realsgii2.temperatures.Config;
 import dev.realsgii2.temperatures.Util;
 import dev.realsgii2.temperatures.gui.boilerplate.GraphicsRenderer;
 import dev.realsgii2.temperatures.gui.boilerplate.GuiVector;
-import dev.realsgii2.temperatures.handler.Temperature;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.GuiGraphics;
-import net.minecraft.resources.ResourceLocation;
-import net.minecraft.world.level.biome.Biome;
+import net.minecraft.client.renderer.texture.TextureAtlasSprite;
 import net.minecraftforge.client.gui.overlay.ForgeGui;
 import net.minecraftforge.client.gui.overlay.IGuiOverlay;
 
@@ -31,73 +29,55 @@ public class TemperatureGaugeOverlay implements IGuiOverlay {
     /**
      * Debug information, rendered if Config.Client.debug is true.
      */
-    public static void renderDebug(GraphicsRenderer renderer, Temperature temperature) {
-        assert Minecraft.getInstance().player != null;
-
-        renderer.debug("Rain level: " + Minecraft.getInstance().player.level().rainLevel);
-        renderer.debug("Temperature " + temperature.compute());
-        renderer.debug("Weights:");
-
-        for (Util.Pair<Biome, Double> biome : Util.World.getNearbyWeightedBiomes(Minecraft.getInstance().player)) {
-            assert Minecraft.getInstance().level != null;
-            renderer.debug("  - " + Util.getBiomeId(Minecraft.getInstance().level, biome.first) + "("  + biome.second + ")");
-        }
+    public static void renderDebug(GraphicsRenderer renderer, GaugeModel model) {
+        for (String line : model.debugLines())
+            renderer.debug(line);
     }
 
     public static void render(GraphicsRenderer renderer) {
-        Temperature temperature = new Temperature();
+        GaugeModel model = GaugeModel.get();
+        if (model == null) return;
 
-        if (Config.Client.debug())
-            renderDebug(renderer, temperature);
+        renderDebug(renderer, model);
 
-        TemperatureGaugeAssets.ImageMap textures = TemperatureGaugeAssets.getImageMap(temperature);
-        double currentTemperature = temperature.compute();
+        TemperatureGaugeAssets.ImageMap textures = model.textures();
 
         GuiVector position = Config.Client.getGaugePosition();
 
-        float goalRotation = (float) (currentTemperature * 60.0F);
-        float remainingRotation = goalRotation - currentRotation;
-        float newRotation = currentRotation + remainingRotation * 0.1f * renderer.deltaTime();
+        float remainingRotation = model.targetRotation() - currentRotation;
+        float newRotation = model.pinned()
+                ? model.targetRotation()
+                : currentRotation + remainingRotation * 0.1f * renderer.deltaTime();
 
-        if (temperature.isAmbientFreezing())
-            newRotation = -130.0f;
-
-        if (temperature.isAmbientBurning() || temperature.isAmbientConsideredBurning())
-            newRotation = 130.0f;
+        GaugeAtlas atlas = GaugeAtlas.get();
+        if (atlas == null) return;
 
         float finalNewRotation = newRotation;
-        renderer.useAlphaShader(() -> {
+        renderer.batch(GaugeAtlas.LOCATION, batch -> {
             // Main Body
-            renderer.draw(textures.background(), position, 20);
-            renderer.transform().rotate(finalNewRotation).draw(textures.rotator(), position, 20);
+            batch.draw(atlas.get(textures.background()), position, 20);
+            batch.draw(atlas.get(textures.rotator()), position, 20, finalNewRotation, 1.0, 1.0f);
 
             // Warning Ring
-            ResourceLocation warningRing = textures.warningRing();
-            if (warningRing != null && !temperature.isAmbientExtreme()) {
+            if (model.showWarningRing()) {
+                TextureAtlasSprite warningRing = atlas.get(textures.warningRing());
                 ringTick++;
 
                 float alpha = Util.Mathf.lerp(1.0f, 0.0f, Math.min((float) (ringTick - 2) / 25f + 2 / 25f, 1));
 
-                renderer.transform()
-                        .scale(BASE_RING_SIZE)
-                        .draw(warningRing, position, 20);
-
-                renderer.alpha(alpha, () ->
-                        renderer.transform()
-                                .scale(BASE_RING_SIZE + (double) ringTick / 40 * 0.75)
-                                .draw(warningRing, position, 20)
-                );
+                batch.draw(warningRing, position, 20, 0.0, BASE_RING_SIZE, 1.0f);
+                batch.draw(warningRing, position, 20, 0.0, BASE_RING_SIZE + (double) ringTick / 40 * 0.75, alpha);
 
                 if (ringTick >= MAX_RING_TICK) ringTick = 0;
             } else ringTick = -1;
 
             // Ice cube
-            if (temperature.isPlayerFreezing())
-                renderer.draw(TemperatureGaugeAssets.ICE_CUBE, position.offsetAbsolute(-4, -4), 26);
+            if (model.freezing())
+                batch.draw(atlas.get(TemperatureGaugeAssets.ICE_CUBE), position.offsetAbsolute(-4, -4), 26);
 
             // Fire
-            if (temperature.isPlayerConsideredBurning()) {
-                renderer.draw(TemperatureGaugeAssets.FlameSprites.get((int) Math.floor(flameIndex)), position.offsetAbsolute(-7, -10), 34);
+            if (model.burning()) {
+                batch.draw(atlas.get(TemperatureGaugeAssets.FlameSprites.get((int) Math.floor(flameIndex))), position.offsetAbsolute(-7, -10), 34);
 
                 flameIndex += 0.5;
                 if (flameIndex >= TemperatureGaugeAssets.FlameSprites.size()) flameIndex = 0;
@@ -2,7 +2,12 @@ package dev.realsgii2.temperatures.gui.boilerplate;
 
 import com.mojang.blaze3d.platform.GlStateManager;
 import com.mojang.blaze3d.systems.RenderSystem;
+import com.mojang.blaze3d.vertex.BufferBuilder;
+import com.mojang.blaze3d.vertex.BufferUploader;
+import com.mojang.blaze3d.vertex.DefaultVertexFormat;
 import com.mojang.blaze3d.vertex.PoseStack;
+import com.mojang.blaze3d.vertex.Tesselator;
+import com.mojang.blaze3d.vertex.VertexFormat;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.GuiGraphics;
 import net.minecraft.client.renderer.GameRenderer;
@@ -10,6 +15,8 @@ import net.minecraft.resources.ResourceLocation;
 import org.jetbrains.annotations.NotNull;
 import org.joml.Quaternionf;
 
+import java.util.function.Consumer;
+
 /**
  * Boilerplate for {@link GuiGraphics} to allow {@link GuiVector}s to be used, and to remove
  * general clutter made when dealing with the Blaze3D RenderSystem.
@@ -103,6 +110,28 @@ public class GraphicsRenderer {
         disableAlphaShader();
     }
 
+    /**
+     * Draws sprites of one atlas in a single draw call, with alpha passthrough.
+     * @param atlas The location of the atlas texture.
+     * @param stack The stack adding sprites to the batch.
+     */
+    public void batch(ResourceLocation atlas, Consumer<SpriteBatch> stack) {
+        // Flush what was drawn through GuiGraphics first, so it stays below the batch.
+        _graphics.flush();
+
+        enableAlphaShader();
+        RenderSystem.setShader(GameRenderer::getPositionColorTexShader);
+        RenderSystem.setShaderTexture(0, atlas);
+
+        BufferBuilder builder = Tesselator.getInstance().getBuilder();
+        builder.begin(VertexFormat.Mode.QUADS, DefaultVertexFormat.POSITION_COLOR_TEX);
+
+        stack.accept(new SpriteBatch(builder, _graphics.pose().last().pose()));
+
+        BufferUploader.drawWithShader(builder.end());
+        disableAlphaShader();
+    }
+
     /**
      * Enables alpha passthrough.
      */
@@ -0,0 +1,55 @@
+package dev.realsgii2.temperatures.gui.boilerplate;
+
+import com.mojang.blaze3d.vertex.BufferBuilder;
+import net.minecraft.client.renderer.texture.TextureAtlasSprite;
+import org.jetbrains.annotations.NotNull;
+import org.joml.Matrix4f;
+
+/**
+ * Collects square sprites of one atlas into a single draw call.
+ * Created by {@link GraphicsRenderer#batch(net.minecraft.resources.ResourceLocation, java.util.function.Consumer)}.
+ */
+public class SpriteBatch {
+    private final BufferBuilder _builder;
+    private final Matrix4f _pose;
+    private final Matrix4f _matrix = new Matrix4f();
+
+    SpriteBatch(BufferBuilder builder, Matrix4f pose) {
+        this._builder = builder;
+        this._pose = pose;
+    }
+
+    /**
+     * Draws a square sprite.
+     * @param sprite The sprite to draw.
+     * @param position The position of the sprite.
+     * @param size The size of the sprite.
+     */
+    public void draw(TextureAtlasSprite sprite, @NotNull GuiVector position, int size) {
+        draw(sprite, position, size, 0.0, 1.0, 1.0f);
+    }
+
+    /**
+     * Draws a square sprite, rotated and scaled around its centre.
+     * @param sprite The sprite to draw.
+     * @param position The position of the sprite.
+     * @param size The size of the sprite.
+     * @param rotation The rotation to apply, in degrees.
+     * @param scale The scale to apply.
+     * @param alpha The alpha to use: within [0, 1]
+     */
+    public void draw(TextureAtlasSprite sprite, @NotNull GuiVector position, int size, double rotation, double scale, float alpha) {
+        float half = (float) size / 2;
+        int a = (int) (alpha * 255.0F) & 0xFF;
+
+        _matrix.set(_pose)
+                .translate(position.x + half, position.y + half, 0)
+                .rotateZ((float) Math.toRadians(rotation))
+                .scale((float) scale);
+
+        _builder.vertex(_matrix, -half, -half, 0).color(255, 255, 255, a).uv(sprite.getU0(), sprite.getV0()).endVertex();
+        _builder.vertex(_matrix, -half, half, 0).color(255, 255, 255, a).uv(sprite.getU0(), sprite.getV1()).endVertex();
+        _builder.vertex(_matrix, half, half, 0).color(255, 255, 255, a).uv(sprite.getU1(), sprite.getV1()).endVertex();
+        _builder.vertex(_matrix, half, -half, 0).color(255, 255, 255, a).uv(sprite.getU1(), sprite.getV0()).endVertex();
+    }
+}
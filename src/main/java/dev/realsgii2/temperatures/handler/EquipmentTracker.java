@@ -0,0 +1,40 @@
+package dev.realsgii2.temperatures.handler;
+
+import dev.realsgii2.temperatures.TemperaturesMod;
+import dev.realsgii2.temperatures.api.world.TemperatureWorldView;
+import net.minecraft.world.entity.player.Player;
+import net.minecraftforge.event.entity.living.LivingEquipmentChangeEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Counts the equipment changes of every player, so results depending on equipment
+ * can be reused until it changes.
+ * <p>
+ * Equipment changes are only detected by the server, so they aren't tracked on clients.
+ */
+@Mod.EventBusSubscriber(modid = TemperaturesMod.MOD_ID)
+public class EquipmentTracker {
+    private static final Map<Player, Long> VERSIONS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * Gets a number that changes whenever the equipment of a player changes.
+     * @param player The player to check.
+     * @return The version, or {@link TemperatureWorldView#UNTRACKED} on clients.
+     */
+    public static long version(Player player) {
+        if (player.level().isClientSide()) return TemperatureWorldView.UNTRACKED;
+
+        return VERSIONS.getOrDefault(player, 0L);
+    }
+
+    @SubscribeEvent
+    public static void equipmentChanged(LivingEquipmentChangeEvent event) {
+        if (event.getEntity() instanceof Player player)
+            VERSIONS.merge(player, 1L, Long::sum);
+    }
+}
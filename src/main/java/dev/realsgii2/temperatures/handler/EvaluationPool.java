@@ -0,0 +1,121 @@
+package dev.realsgii2.temperatures.handler;
+
+import dev.realsgii2.temperatures.Config;
+import dev.realsgii2.temperatures.TemperaturesMod;
+import dev.realsgii2.temperatures.api.world.CapturedWorldView;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.player.Player;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.FutureTask;
+import java.util.stream.IntStream;
+
+/**
+ * The worker threads recomputing the temperatures of many players at once, when
+ * {@link Config.Server#isParallelEvaluation()} is enabled.
+ * <p>
+ * The world around each player is captured on the server thread first, then the determinants run on the workers
+ * while the server thread waits, so nothing changes the level in the meantime. Damage is still applied by the
+ * server thread, from the snapshots it gets back.
+ * <p>
+ * Determinants reading the live world, such as those only implementing
+ * {@link dev.realsgii2.temperatures.api.registry.determinant.IDeterminant#getTemperature(Player, double)}, are
+ * handed over to the server thread by the workers ({@link #runOnServerThread(Runnable)}), and run there while it
+ * waits.
+ */
+@Mod.EventBusSubscriber(modid = TemperaturesMod.MOD_ID)
+public final class EvaluationPool {
+    private static ForkJoinPool pool = null;
+
+    /**
+     * The tasks workers handed over to the server thread.
+     */
+    private static final Queue<Runnable> SERVER_TASKS = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Captures the snapshots of players of one level on the worker threads, and waits for them.
+     * Must be called on the server thread.
+     * @param level The level of the players.
+     * @param players The players to capture.
+     * @return The snapshots of the players, in the same order.
+     */
+    public static TemperatureSnapshot[] capture(ServerLevel level, List<Player> players) {
+        CapturedWorldView[] views = new CapturedWorldView[players.size()];
+        for (int i = 0; i < views.length; i++) views[i] = CapturedWorldView.of(players.get(i));
+
+        TemperatureSnapshot[] snapshots = new TemperatureSnapshot[views.length];
+        ForkJoinTask<?> task = getPool().submit(() -> IntStream.range(0, views.length).parallel()
+                .forEach(i -> snapshots[i] = TemperatureSnapshot.of(players.get(i), views[i])));
+
+        // Only the tasks handed over by the workers run while the server thread waits: running the tasks of the
+        // chunk source would load and unload chunks, changing the caches the workers read.
+        while (!task.isDone()) {
+            Runnable next = SERVER_TASKS.poll();
+            if (next != null) next.run();
+            else Thread.onSpinWait();
+        }
+
+        task.join();
+        return snapshots;
+    }
+
+    /**
+     * Runs a task on the server thread while it waits for the workers, and waits for it.
+     * Must be called from a worker.
+     * @param task The task to run.
+     */
+    public static void runOnServerThread(Runnable task) {
+        FutureTask<Void> future = new FutureTask<>(task, null);
+        SERVER_TASKS.add(future);
+
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the server thread", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            if (e.getCause() instanceof Error cause) throw cause;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static synchronized ForkJoinPool getPool() {
+        if (pool == null) {
+            int threads = Config.Server.getEvaluationThreads();
+            if (threads <= 0) threads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+
+            pool = new ForkJoinPool(threads, EvaluationPool::newThread, null, false);
+        }
+
+        return pool;
+    }
+
+    private static ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("Temperatures Worker-" + thread.getPoolIndex());
+        thread.setDaemon(true);
+
+        // Workers look up mod classes through their context class loader, which defaults to the system one.
+        thread.setContextClassLoader(EvaluationPool.class.getClassLoader());
+
+        return thread;
+    }
+
+    @SubscribeEvent
+    public static synchronized void serverStopped(ServerStoppedEvent event) {
+        if (pool != null) {
+            pool.shutdown();
+            pool = null;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package dev.realsgii2.temperatures.handler;
+
+import dev.realsgii2.temperatures.TemperaturesMod;
+import net.minecraft.world.entity.player.Player;
+import net.minecraftforge.event.entity.living.LivingEquipmentChangeEvent;
+import net.minecraftforge.event.entity.living.MobEffectEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Keeps the resistances of every player, so they're only determined again once their equipment or effects change.
+ * <p>
+ * Resistances only come from effects and armor enchantments. They are forgotten when equipment changes (which
+ * includes enchanting a worn item, as stacks are compared with their tags), and when an effect is added (which
+ * includes upgrading one), expires or is removed. On servers, these events cover every change, so resistances are
+ * kept until one of them fires. Clients don't receive all of them, so resistances are determined again on clients
+ * once they're {@link #MAX_AGE} ticks old.
+ */
+@Mod.EventBusSubscriber(modid = TemperaturesMod.MOD_ID)
+public final class ResistanceCache {
+    private static final Map<Player, Resistances> RESISTANCES = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * The most ticks resistances are kept for on clients, even if nothing was known to change.
+     */
+    private static final int MAX_AGE = 20;
+
+    /**
+     * Gets the resistances of a player, determining them if they aren't known.
+     * @param player The player to get the resistances of.
+     */
+    public static Resistances get(Player player) {
+        Resistances resistances = RESISTANCES.get(player);
+
+        if (resistances == null || player.level().isClientSide() && isOutdated(player, resistances)) {
+            resistances = new Resistances(
+                    player.tickCount,
+                    Temperature.getColdResistance(player),
+                    Temperature.getHeatResistance(player),
+                    Temperature.isBurnResistant(player),
+                    Temperature.isFreezeResistant(player)
+            );
+
+            RESISTANCES.put(player, resistances);
+        }
+
+        return resistances;
+    }
+
+    private static boolean isOutdated(Player player, Resistances resistances) {
+        return player.tickCount - resistances.tickCount >= MAX_AGE || player.tickCount < resistances.tickCount;
+    }
+
+    @SubscribeEvent
+    public static void equipmentChanged(LivingEquipmentChangeEvent event) {
+        if (event.getEntity() instanceof Player player) RESISTANCES.remove(player);
+    }
+
+    @SubscribeEvent
+    public static void effectAdded(MobEffectEvent.Added event) {
+        if (event.getEntity() instanceof Player player) RESISTANCES.remove(player);
+    }
+
+    @SubscribeEvent
+    public static void effectExpired(MobEffectEvent.Expired event) {
+        if (event.getEntity() instanceof Player player) RESISTANCES.remove(player);
+    }
+
+    @SubscribeEvent
+    public static void effectRemoved(MobEffectEvent.Remove event) {
+        if (event.getEntity() instanceof Player player) RESISTANCES.remove(player);
+    }
+
+    /**
+     * The resistances of a player.
+     *
+     * @param tickCount       The player's tick count when these were determined.
+     * @param coldResistance  The lowest temperature the player can survive.
+     * @param heatResistance  The highest temperature the player can survive.
+     * @param burnResistant   Whether the player can survive being set on fire.
+     * @param freezeResistant Whether the player can survive being frozen.
+     */
+    public record Resistances(int tickCount, double coldResistance, double heatResistance,
+                              boolean burnResistant, boolean freezeResistant) {}
+}
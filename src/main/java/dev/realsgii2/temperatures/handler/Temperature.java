@@ -2,14 +2,13 @@ package dev.realsgii2.temperatures.handler;
 
 import dev.realsgii2.temperatures.Config;
 import dev.realsgii2.temperatures.Util;
-import dev.realsgii2.temperatures.api.registry.determinant.DeterminantRegistry;
 import dev.realsgii2.temperatures.registry.ModDamageSources;
-import dev.realsgii2.temperatures.registry.ModDeterminants;
 import dev.realsgii2.temperatures.registry.ModEffects;
 import dev.realsgii2.temperatures.registry.ModEnchantments;
 import net.minecraft.client.Minecraft;
 import net.minecraft.world.damagesource.DamageSource;
 import net.minecraft.world.effect.MobEffect;
+import net.minecraft.world.effect.MobEffectInstance;
 import net.minecraft.world.effect.MobEffects;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.ItemStack;
@@ -51,6 +50,15 @@ public class Temperature {
         this.player = player;
     }
 
+    /**
+     * Gets the snapshot of this player's temperature for the current tick.
+     * Every predicate of this class reads from it; {@link TemperatureSnapshot#of(Player)} captures it at most once
+     * per tick, so repeated calls do not recompute any determinants.
+     */
+    public TemperatureSnapshot snapshot() {
+        return TemperatureSnapshot.of(player);
+    }
+
     /**
      * Gets the damage type and amount that should be applied to the player based on current conditions.
      * Intended to be used in a PlayerTickEvent listener.
@@ -60,19 +68,43 @@ public class Temperature {
      * @implNote Also call {@link #isPlayerBurning()} to see if the player should be set on fire.
      */
     public Util.Pair<DamageSource, Integer> getPossibleDamage(TickEvent.PlayerTickEvent event) {
-        ModDamageSources damageSources = ModDamageSources.fromEvent(event);
+        Damage damage = getPossibleDamageKind();
+        if (damage == null) return null;
+
+        return Util.Pair.of(damage.source(ModDamageSources.fromEvent(event)), damage.amount());
+    }
+
+    /**
+     * Gets the kind of damage that should be applied to the player based on current conditions.
+     * Unlike {@link #getPossibleDamage(TickEvent.PlayerTickEvent)}, this doesn't allocate.
+     *
+     * @return The damage to apply, or null if none should be applied.
+     * @implNote Also call {@link #isPlayerBurning()} to see if the player should be set on fire.
+     */
+    public Damage getPossibleDamageKind() {
+        return getPossibleDamageKind(snapshot(), player.tickCount);
+    }
 
-        if (isPlayerFreezing() && event.player.tickCount % Config.Server.getExtremeDamageTick() == 0)
-            return Util.Pair.of(damageSources.FREEZE, Config.Server.getExtremeDamageAmount());
+    /**
+     * Gets the kind of damage that should be applied to a player with a temperature snapshot,
+     * which may have been captured before the current tick.
+     *
+     * @param snapshot  The temperature of the player.
+     * @param tickCount The current tick count of the player, deciding whether damage is due.
+     * @return The damage to apply, or null if none should be applied.
+     */
+    public static Damage getPossibleDamageKind(TemperatureSnapshot snapshot, int tickCount) {
+        if (snapshot.isPlayerFreezing() && tickCount % Config.Server.getExtremeDamageTick() == 0)
+            return Damage.FREEZE;
 
-        if (event.player.tickCount % Config.Server.getNormalDamageTick() == 0)
-            if (isPlayerCold() && !isAmbientFreezing())
-                return Util.Pair.of(damageSources.COLD, Config.Server.getNormalDamageAmount());
-            else if (isPlayerHot()) {
-                if (isPlayerBurning())
+        if (tickCount % Config.Server.getNormalDamageTick() == 0)
+            if (snapshot.isPlayerCold() && !snapshot.isAmbientFreezing())
+                return Damage.COLD;
+            else if (snapshot.isPlayerHot()) {
+                if (snapshot.isPlayerBurning())
                     // Set the player on fire instead; don't apply custom damage.
                     return null;
-                else if (!isAmbientBurning()) return Util.Pair.of(damageSources.HEAT, Config.Server.getNormalDamageAmount());
+                else if (!snapshot.isAmbientBurning()) return Damage.HEAT;
             }
 
         return null;
@@ -83,58 +115,56 @@ public class Temperature {
      * @return The temperature of the player.
      */
     public double compute() {
-        return DeterminantRegistry.compute(player, DeterminantRegistry.getAll());
+        return snapshot().temperature();
     }
 
     /**
      * Determines whether the temperature is freezing enough to damage unprotected players.
      */
     public boolean isAmbientFreezing() {
-        return DeterminantRegistry.compute(
-                player, DeterminantRegistry.getExcluded(ModDeterminants.AMBIENT_KEY)
-        ) == MIN_VALUE;
+        return snapshot().isAmbientFreezing();
     }
 
     /**
      * Determines whether the temperature is hot enough to set unprotected players on fire.
      */
     public boolean isAmbientBurning() {
-        return compute() == MAX_VALUE;
+        return snapshot().isAmbientBurning();
     }
 
     /**
      * Determines whether this player is uncomfortably cold.
      */
     public boolean isPlayerCold() {
-        return compute() + getColdResistance() < 0;
+        return snapshot().isPlayerCold();
     }
 
     /**
      * Determines whether this player is uncomfortably hot.
      */
     public boolean isPlayerHot() {
-        return compute() - getHeatResistance() > 0;
+        return snapshot().isPlayerHot();
     }
 
     /**
      * Determines whether this player is freezing.
      */
     public boolean isPlayerFreezing() {
-        return isAmbientFreezing() && !isFreezeResistant();
+        return snapshot().isPlayerFreezing();
     }
 
     /**
      * Determines whether this player should be set on fire.
      */
     public boolean isPlayerBurning() {
-        return isAmbientBurning() && !isBurnResistant();
+        return snapshot().isPlayerBurning();
     }
 
     /**
      * Determines whether the current temperature is an extreme temperature.
      */
     public boolean isAmbientExtreme() {
-        return Math.abs(compute()) == MAX_VALUE || isPlayerConsideredBurning();
+        return snapshot().isAmbientExtreme();
     }
 
     /**
@@ -142,28 +172,28 @@ public class Temperature {
      * or if the player is already on fire.
      */
     public boolean isAmbientConsideredBurning() {
-        return isPlayerBurning() || player.isOnFire();
+        return snapshot().isAmbientConsideredBurning();
     }
 
     /**
      * Determines whether this player can be, or is already set on fire.
      */
     public boolean isPlayerConsideredBurning() {
-        return isPlayerBurning() || (player.isOnFire() && !isBurnResistant());
+        return snapshot().isPlayerConsideredBurning();
     }
 
     /**
      * Gets the lowest temperature the player can survive.
      */
     public double getColdResistance() {
-        return getResistance(ModEffects.COLD_RESISTANCE_EFFECT, ModEnchantments.COLD_RESISTANCE_ENCHANTMENT);
+        return snapshot().coldResistance();
     }
 
     /**
      * Gets the highest temperature the player can survive.
      */
     public double getHeatResistance() {
-        return getResistance(ModEffects.HEAT_RESISTANCE_EFFECT, ModEnchantments.HEAT_RESISTANCE_ENCHANTMENT);
+        return snapshot().heatResistance();
     }
 
     /**
@@ -171,33 +201,106 @@ public class Temperature {
      */
     @SuppressWarnings("BooleanMethodIsAlwaysInverted")
     public boolean isBurnResistant() {
-        return getResistance(MobEffects.FIRE_RESISTANCE, ModEnchantments.FLAME_BREAKER_ENCHANTMENT) > 1;
+        return snapshot().burnResistant();
     }
 
     /**
      * Gets whether this player can survive being frozen.
      */
     public boolean isFreezeResistant() {
-        return getResistance(ModEffects.ICE_BREAKER_EFFECT, ModEnchantments.ICE_BREAKER_ENCHANTMENT) > 1;
+        return snapshot().freezeResistant();
+    }
+
+    /**
+     * Gets the lowest temperature a player can survive.
+     * @param player The player to check.
+     */
+    static double getColdResistance(Player player) {
+        return getResistance(player, ModEffects.COLD_RESISTANCE_EFFECT, ModEnchantments.COLD_RESISTANCE_ENCHANTMENT);
+    }
+
+    /**
+     * Gets the highest temperature a player can survive.
+     * @param player The player to check.
+     */
+    static double getHeatResistance(Player player) {
+        return getResistance(player, ModEffects.HEAT_RESISTANCE_EFFECT, ModEnchantments.HEAT_RESISTANCE_ENCHANTMENT);
+    }
+
+    /**
+     * Gets whether a player can survive being set on fire.
+     * @param player The player to check.
+     */
+    static boolean isBurnResistant(Player player) {
+        return getResistance(player, MobEffects.FIRE_RESISTANCE, ModEnchantments.FLAME_BREAKER_ENCHANTMENT) > 1;
+    }
+
+    /**
+     * Gets whether a player can survive being frozen.
+     * @param player The player to check.
+     */
+    static boolean isFreezeResistant(Player player) {
+        return getResistance(player, ModEffects.ICE_BREAKER_EFFECT, ModEnchantments.ICE_BREAKER_ENCHANTMENT) > 1;
     }
 
     /**
-     * Determines the player's resistance to a temperature with their current effects and enchantments.
+     * Determines a player's resistance to a temperature with their current effects and enchantments.
      *
+     * @param player                The player to check.
      * @param resistanceEffect      A MobEffect that provides resistance against this temperature.
      * @param resistanceEnchantment An enchantment that provides resistance against this temperature.
      */
-    private double getResistance(MobEffect resistanceEffect, Enchantment resistanceEnchantment) {
-        double result = 1;
-
-        if (player.hasEffect(resistanceEffect))
-            // noinspection DataFlowIssue: #hasEffect() solves this
-            result += player.getEffect(resistanceEffect).getAmplifier() + 0.5;
+    private static double getResistance(Player player, MobEffect resistanceEffect, Enchantment resistanceEnchantment) {
+        MobEffectInstance effect = player.getEffect(resistanceEffect);
+        int enchantedArmor = 0;
 
         for (ItemStack armor : player.getArmorSlots())
             if (armor.getEnchantmentLevel(resistanceEnchantment) == 1)
-                result += 0.5;
+                enchantedArmor++;
+
+        return getResistance(effect == null ? -1 : effect.getAmplifier(), enchantedArmor);
+    }
+
+    /**
+     * Determines a resistance to a temperature from what provides it.
+     *
+     * @param effectAmplifier The amplifier of the resistance effect, or -1 if it isn't active.
+     * @param enchantedArmor  The amount of armor pieces enchanted with the resistance enchantment.
+     */
+    static double getResistance(int effectAmplifier, int enchantedArmor) {
+        double result = 1;
+
+        if (effectAmplifier >= 0)
+            result += effectAmplifier + 0.5;
+
+        result += enchantedArmor * 0.5;
 
         return Util.Mathf.clamp(result, 0, 2);
     }
+
+    /**
+     * The kinds of damage temperatures can apply.
+     */
+    public enum Damage {
+        FREEZE, COLD, HEAT;
+
+        /**
+         * Gets the DamageSource used to apply this damage.
+         * @param damageSources The damage sources of the player's level.
+         */
+        public DamageSource source(ModDamageSources damageSources) {
+            return switch (this) {
+                case FREEZE -> damageSources.FREEZE;
+                case COLD -> damageSources.COLD;
+                case HEAT -> damageSources.HEAT;
+            };
+        }
+
+        /**
+         * Gets the configured amount of this damage.
+         */
+        public int amount() {
+            return this == FREEZE ? Config.Server.getExtremeDamageAmount() : Config.Server.getNormalDamageAmount();
+        }
+    }
 }
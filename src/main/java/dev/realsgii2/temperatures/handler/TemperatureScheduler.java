@@ -0,0 +1,267 @@
+package dev.realsgii2.temperatures.handler;
+
+import dev.realsgii2.temperatures.Config;
+import dev.realsgii2.temperatures.TemperaturesMod;
+import dev.realsgii2.temperatures.Util;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.level.Level;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.event.level.LevelEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Decides when the temperature of each player is recomputed, instead of recomputing it every tick.
+ * <p>
+ * Players in uncomfortable or extreme conditions are recomputed every
+ * {@link Config.Server#getMinEvaluationInterval()} ticks. Comfortable players are recomputed less often the further
+ * they are from being uncomfortable, up to {@link Config.Server#getMaxEvaluationInterval()} ticks. Players are
+ * recomputed as soon as possible once they move, enter or leave water, or change dimension.
+ * <p>
+ * Players that are due are queued in their level, and recomputed when the level ticks, for at most
+ * {@link Config.Server#getEvaluationBudgetNanos()} per tick; the rest carry over to the next tick. Regular
+ * evaluations are spread across ticks by a bucket taken from the player's UUID, so players don't line up.
+ * When {@link Config.Server#isParallelEvaluation()} is enabled, every queued player is instead recomputed at once
+ * by the {@link EvaluationPool}.
+ * <p>
+ * Between evaluations, the latest snapshot is used, so damage is still applied on its configured cadence.
+ */
+@Mod.EventBusSubscriber(modid = TemperaturesMod.MOD_ID)
+public final class TemperatureScheduler {
+    private static final Map<Player, State> STATES = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final Map<Level, WorkQueue> QUEUES = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * How far a player may move before being recomputed, squared.
+     */
+    private static final double MOVED_DISTANCE_SQR = 1.0;
+
+    /**
+     * How far from the thresholds of being uncomfortable a player must be to only be recomputed every
+     * {@link Config.Server#getMaxEvaluationInterval()} ticks.
+     */
+    private static final double COMFORTABLE_MARGIN = 0.5;
+
+    /**
+     * The most ticks regular evaluations are spread across.
+     */
+    private static final int MAX_BUCKETS = 8;
+
+    /**
+     * Gets the latest temperature of a player, queueing it to be recomputed if it is due.
+     * The first temperature of a player is computed right away.
+     * @param player The player to get the temperature of.
+     */
+    public static TemperatureSnapshot get(@NotNull Player player) {
+        State state = STATES.computeIfAbsent(player, x -> new State(x.getUUID().hashCode()));
+
+        if (state.snapshot == null)
+            state.evaluate(player);
+        else if (!state.queued) {
+            boolean urgent = state.isUrgent(player);
+
+            if (urgent || player.level().getGameTime() >= state.nextTick) {
+                state.queued = true;
+                QUEUES.computeIfAbsent(player.level(), x -> new WorkQueue()).add(player, urgent);
+            }
+        }
+
+        return state.snapshot;
+    }
+
+    /**
+     * Gets how many ticks to wait before recomputing a temperature.
+     * @param snapshot The temperature just computed.
+     */
+    static int getInterval(TemperatureSnapshot snapshot) {
+        int min = Config.Server.getMinEvaluationInterval();
+        int max = Math.max(min, Config.Server.getMaxEvaluationInterval());
+
+        if (snapshot.isAmbientExtreme() || snapshot.isPlayerCold() || snapshot.isPlayerHot()) return min;
+
+        double margin = Math.min(
+                snapshot.temperature() + snapshot.coldResistance(),
+                snapshot.heatResistance() - snapshot.temperature()
+        );
+
+        return (int) Util.Mathf.lerp(min, max, Util.Mathf.clamp(margin / COMFORTABLE_MARGIN, 0, 1));
+    }
+
+    /**
+     * Gets the tick of the next regular evaluation: the last tick within the interval that belongs to the bucket.
+     * @param now The current game time.
+     * @param interval The most ticks to wait.
+     * @param bucket The bucket of the player.
+     */
+    static long getNextTick(long now, int interval, int bucket) {
+        int buckets = Math.min(interval, MAX_BUCKETS);
+        long due = now + interval;
+
+        return due - Math.floorMod(due + bucket, buckets);
+    }
+
+    @SubscribeEvent
+    public static void levelTick(TickEvent.LevelTickEvent event) {
+        if (event.phase == TickEvent.Phase.START && event.level instanceof ServerLevel level) {
+            WorkQueue queue = QUEUES.get(level);
+            if (queue == null) return;
+
+            if (Config.Server.isParallelEvaluation()) queue.processAll(level);
+            else queue.process(level, Config.Server.getEvaluationBudgetNanos());
+        }
+    }
+
+    @SubscribeEvent
+    public static void playerChangedDimension(PlayerEvent.PlayerChangedDimensionEvent event) {
+        MinecraftServer server = event.getEntity().getServer();
+        if (server != null) dequeue(event.getEntity(), server.getLevel(event.getFrom()));
+    }
+
+    @SubscribeEvent
+    public static void playerLoggedOut(PlayerEvent.PlayerLoggedOutEvent event) {
+        dequeue(event.getEntity(), event.getEntity().level());
+        STATES.remove(event.getEntity());
+    }
+
+    /**
+     * Removes a player from the queue of a level it left, so it is queued again in its new level.
+     * @param player The player to remove.
+     * @param level The level the player left.
+     */
+    private static void dequeue(Player player, @Nullable Level level) {
+        WorkQueue queue = level == null ? null : QUEUES.get(level);
+        if (queue != null) queue.remove(player);
+
+        State state = STATES.get(player);
+        if (state != null) state.queued = false;
+    }
+
+    @SubscribeEvent
+    public static void levelUnloaded(LevelEvent.Unload event) {
+        QUEUES.remove(event.getLevel());
+    }
+
+    /**
+     * The scheduling state of one player.
+     */
+    private static final class State {
+        private final int bucket;
+
+        private TemperatureSnapshot snapshot;
+        private boolean queued;
+        private long nextTick;
+        private Level level;
+        private boolean inWater;
+        private double x, y, z;
+
+        private State(int bucket) {
+            this.bucket = bucket;
+        }
+
+        /**
+         * Determines whether the player changed enough since the last evaluation to be recomputed before it is due.
+         * @param player The player of this state.
+         */
+        private boolean isUrgent(Player player) {
+            return player.level() != level
+                    || player.isInWater() != inWater
+                    || player.distanceToSqr(x, y, z) >= MOVED_DISTANCE_SQR;
+        }
+
+        private void evaluate(Player player) {
+            update(player, TemperatureSnapshot.of(player));
+        }
+
+        private void update(Player player, TemperatureSnapshot snapshot) {
+            this.snapshot = snapshot;
+            nextTick = getNextTick(player.level().getGameTime(), getInterval(snapshot), bucket);
+            level = player.level();
+            inWater = player.isInWater();
+            x = player.getX();
+            y = player.getY();
+            z = player.getZ();
+        }
+    }
+
+    /**
+     * The players of one level waiting to be recomputed.
+     * Players that changed are recomputed before those whose regular evaluation is due. Queues don't hold their
+     * level, so it can still be collected once it unloads.
+     */
+    private static final class WorkQueue {
+        private final ArrayDeque<Player> urgent = new ArrayDeque<>();
+        private final ArrayDeque<Player> regular = new ArrayDeque<>();
+
+        private void add(Player player, boolean isUrgent) {
+            (isUrgent ? urgent : regular).add(player);
+        }
+
+        private void remove(Player player) {
+            urgent.remove(player);
+            regular.remove(player);
+        }
+
+        /**
+         * Recomputes queued players until the budget runs out, recomputing at least one.
+         * @param level The level of this queue.
+         * @param budgetNanos The time to spend, in nanoseconds.
+         */
+        private void process(Level level, long budgetNanos) {
+            long start = System.nanoTime();
+
+            do {
+                Player player = urgent.isEmpty() ? regular.poll() : urgent.poll();
+                if (player == null) return;
+
+                State state = STATES.get(player);
+                if (state == null) continue;
+
+                state.queued = false;
+
+                // Players are removed when they leave or change dimension; this only guards against missed events.
+                if (!player.isRemoved() && player.level() == level) state.evaluate(player);
+            } while (System.nanoTime() - start < budgetNanos);
+        }
+
+        /**
+         * Recomputes every queued player at once, on the worker threads of the {@link EvaluationPool}.
+         * @param level The level of this queue.
+         */
+        private void processAll(ServerLevel level) {
+            List<Player> players = new ArrayList<>(urgent.size() + regular.size());
+            List<State> states = new ArrayList<>(urgent.size() + regular.size());
+
+            Player player;
+            while ((player = urgent.isEmpty() ? regular.poll() : urgent.poll()) != null) {
+                State state = STATES.get(player);
+                if (state == null) continue;
+
+                state.queued = false;
+
+                if (!player.isRemoved() && player.level() == level) {
+                    players.add(player);
+                    states.add(state);
+                }
+            }
+
+            if (players.size() == 1) {
+                states.get(0).evaluate(players.get(0));
+            } else if (!players.isEmpty()) {
+                TemperatureSnapshot[] snapshots = EvaluationPool.capture(level, players);
+                for (int i = 0; i < snapshots.length; i++) states.get(i).update(players.get(i), snapshots[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package dev.realsgii2.temperatures.handler;
+
+import dev.realsgii2.temperatures.api.registry.determinant.DeterminantCache;
+import dev.realsgii2.temperatures.api.registry.determinant.DeterminantPipeline;
+import dev.realsgii2.temperatures.api.registry.determinant.DeterminantRegistry;
+import dev.realsgii2.temperatures.api.world.CapturedWorldView;
+import dev.realsgii2.temperatures.api.world.LiveWorldView;
+import dev.realsgii2.temperatures.api.world.TemperatureWorldView;
+import dev.realsgii2.temperatures.handler.world.LocationCache;
+import dev.realsgii2.temperatures.registry.ModDeterminants;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.level.Level;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * An immutable capture of everything {@link Temperature} derives for a player at one point in time.
+ * <p>
+ * Computing a temperature runs every {@link dev.realsgii2.temperatures.api.registry.determinant.IDeterminant},
+ * so a snapshot is captured at most once per player per tick and shared by everything reading it that tick.
+ *
+ * @param tickCount                  The player's tick count when this snapshot was captured.
+ * @param temperature                The result of all determinants.
+ * @param ambientExcludedTemperature The result of all determinants, excluding the ambient determinant. Only computed
+ *                                   as far as needed to tell whether it is freezing ({@link #AMBIENT_EXCLUDED_THRESHOLDS}).
+ * @param coldResistance             The lowest temperature the player can survive.
+ * @param heatResistance             The highest temperature the player can survive.
+ * @param burnResistant              Whether the player can survive being set on fire.
+ * @param freezeResistant            Whether the player can survive being frozen.
+ * @param onFire                     Whether the player was on fire.
+ */
+public record TemperatureSnapshot(int tickCount, double temperature, double ambientExcludedTemperature,
+                                  double coldResistance, double heatResistance,
+                                  boolean burnResistant, boolean freezeResistant, boolean onFire) {
+    /**
+     * The last snapshot captured for each player.
+     */
+    private static final Map<Player, TemperatureSnapshot> LATEST = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * The cached determinant results of each player, so their temperature is only recomputed as far as
+     * its inputs changed.
+     */
+    private static final Map<Player, Caches> CACHES = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * The temperatures the ambient excluded temperature is compared with: only {@link #isAmbientFreezing()} reads it.
+     */
+    private static final double[] AMBIENT_EXCLUDED_THRESHOLDS = {Temperature.MIN_VALUE};
+
+    /**
+     * Gets the snapshot of a player for the current tick, capturing it if it hasn't been yet.
+     *
+     * @param player The player to get the snapshot of.
+     */
+    public static TemperatureSnapshot of(@NotNull Player player) {
+        TemperatureSnapshot snapshot = LATEST.get(player);
+
+        if (snapshot == null || snapshot.tickCount != player.tickCount) {
+            snapshot = capture(player);
+            LATEST.put(player, snapshot);
+        }
+
+        return snapshot;
+    }
+
+    /**
+     * Gets the snapshot of a player for the tick a view was captured at, capturing it through the view if it hasn't
+     * been yet. Only reads what the view captured, so it may be called away from the server thread.
+     *
+     * @param player The player to get the snapshot of.
+     * @param view   The world and player state captured around the player.
+     */
+    public static TemperatureSnapshot of(@NotNull Player player, @NotNull CapturedWorldView view) {
+        TemperatureSnapshot snapshot = LATEST.get(player);
+
+        if (snapshot == null || snapshot.tickCount != view.tickCount()) {
+            snapshot = capture(player, view, view.tickCount(), view.resistances(), view.isOnFire());
+            LATEST.put(player, snapshot);
+        }
+
+        return snapshot;
+    }
+
+    /**
+     * Computes a new snapshot of a player, ignoring any snapshot already captured this tick.
+     *
+     * @param player The player to capture.
+     */
+    public static TemperatureSnapshot capture(@NotNull Player player) {
+        return capture(player, LiveWorldView.of(player));
+    }
+
+    /**
+     * Computes a new snapshot of a player through a view, ignoring any snapshot already captured this tick.
+     *
+     * @param player The player to capture.
+     * @param view   The view of the world around the player.
+     */
+    public static TemperatureSnapshot capture(@NotNull Player player, @NotNull TemperatureWorldView view) {
+        return capture(player, view, player.tickCount, ResistanceCache.get(player), player.isOnFire());
+    }
+
+    /**
+     * Computes a new snapshot through a view, from player state read beforehand.
+     *
+     * @param player      The player to capture; only used to find its caches.
+     * @param view        The view of the world around the player.
+     * @param tickCount   The player's tick count.
+     * @param resistances The player's resistances.
+     * @param onFire      Whether the player is on fire.
+     */
+    private static TemperatureSnapshot capture(Player player, TemperatureWorldView view, int tickCount,
+                                               ResistanceCache.Resistances resistances, boolean onFire) {
+        Caches caches = CACHES.computeIfAbsent(player, x -> new Caches());
+        ResourceKey<Level> dimension = view.dimension();
+
+        return capture(view, DeterminantRegistry.pipeline(DeterminantRegistry.ALL, dimension),
+                DeterminantRegistry.pipeline(ModDeterminants.WITHOUT_AMBIENT, dimension),
+                caches, tickCount, resistances, onFire);
+    }
+
+    /**
+     * Computes a new snapshot through a view with the given pipelines. Doesn't allocate anything but the snapshot
+     * once the caches are filled.
+     *
+     * @param view           The view of the world around the player.
+     * @param all            The pipeline of every determinant.
+     * @param withoutAmbient The pipeline of every determinant but the ambient determinant.
+     * @param caches         The player's caches.
+     * @param tickCount      The player's tick count.
+     * @param resistances    The player's resistances.
+     * @param onFire         Whether the player is on fire.
+     */
+    static TemperatureSnapshot capture(TemperatureWorldView view, DeterminantPipeline all,
+                                       DeterminantPipeline withoutAmbient, Caches caches, int tickCount,
+                                       ResistanceCache.Resistances resistances, boolean onFire) {
+        return new TemperatureSnapshot(
+                tickCount,
+                all.compute(view, caches.all, LocationCache.get(all, view), null),
+                withoutAmbient.compute(view, caches.withoutAmbient, LocationCache.get(withoutAmbient, view),
+                        AMBIENT_EXCLUDED_THRESHOLDS),
+                resistances.coldResistance(),
+                resistances.heatResistance(),
+                resistances.burnResistant(),
+                resistances.freezeResistant(),
+                onFire
+        );
+    }
+
+    /**
+     * Determines whether the temperature is freezing enough to damage unprotected players.
+     */
+    public boolean isAmbientFreezing() {
+        return ambientExcludedTemperature == Temperature.MIN_VALUE;
+    }
+
+    /**
+     * Determines whether the temperature is hot enough to set unprotected players on fire.
+     */
+    public boolean isAmbientBurning() {
+        return temperature == Temperature.MAX_VALUE;
+    }
+
+    /**
+     * Determines whether this player is uncomfortably cold.
+     */
+    public boolean isPlayerCold() {
+        return temperature + coldResistance < 0;
+    }
+
+    /**
+     * Determines whether this player is uncomfortably hot.
+     */
+    public boolean isPlayerHot() {
+        return temperature - heatResistance > 0;
+    }
+
+    /**
+     * Determines whether this player is freezing.
+     */
+    public boolean isPlayerFreezing() {
+        return isAmbientFreezing() && !freezeResistant;
+    }
+
+    /**
+     * Determines whether this player should be set on fire.
+     */
+    public boolean isPlayerBurning() {
+        return isAmbientBurning() && !burnResistant;
+    }
+
+    /**
+     * Determines whether the current temperature is an extreme temperature.
+     */
+    public boolean isAmbientExtreme() {
+        return Math.abs(temperature) == Temperature.MAX_VALUE || isPlayerConsideredBurning();
+    }
+
+    /**
+     * Determines whether this temperature can set players on fire,
+     * or if the player is already on fire.
+     */
+    public boolean isAmbientConsideredBurning() {
+        return isPlayerBurning() || onFire;
+    }
+
+    /**
+     * Determines whether this player can be, or is already set on fire.
+     */
+    public boolean isPlayerConsideredBurning() {
+        return isPlayerBurning() || (onFire && !burnResistant);
+    }
+
+    /**
+     * The determinant caches of one player, one for each pipeline a snapshot executes.
+     */
+    record Caches(DeterminantCache all, DeterminantCache withoutAmbient) {
+        Caches() {
+            this(new DeterminantCache(), new DeterminantCache());
+        }
+    }
+}
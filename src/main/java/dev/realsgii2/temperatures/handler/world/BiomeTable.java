@@ -0,0 +1,174 @@
+package dev.realsgii2.temperatures.handler.world;
+
+import dev.realsgii2.temperatures.Config;
+import dev.realsgii2.temperatures.ConfigSnapshot;
+import dev.realsgii2.temperatures.TemperaturesMod;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.core.Holder;
+import net.minecraft.core.Registry;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.tags.TagKey;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.biome.Biome;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.client.event.ClientPlayerNetworkEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The biome configuration compiled against a biome registry, so finding the temperatures of a biome is one
+ * identity lookup instead of resolving its name and searching the configuration.
+ * <p>
+ * Entries may name a biome tag, such as {@code #minecraft:is_ocean}; tags are resolved when the table is
+ * compiled. Entries naming a biome take priority over tags; otherwise, the first entry listed wins.
+ * Tables are recompiled once the {@link ConfigSnapshot} changes, which includes datapack reloads.
+ * <p>
+ * A table holds its registry strongly (as do the holders it is keyed by), so tables are dropped when the server
+ * stops or the client leaves a world instead of relying on the registry being collected.
+ */
+@Mod.EventBusSubscriber(modid = TemperaturesMod.MOD_ID)
+public final class BiomeTable {
+    private static final Map<Registry<Biome>, BiomeTable> TABLES = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    private final int compiledVersion;
+    private final Registry<Biome> registry;
+    private final Reference2ObjectMap<Holder<Biome>, Config.Common.BiomeData> biomes;
+
+    private BiomeTable(int compiledVersion, Registry<Biome> registry, Reference2ObjectMap<Holder<Biome>, Config.Common.BiomeData> biomes) {
+        this.compiledVersion = compiledVersion;
+        this.registry = registry;
+        this.biomes = biomes;
+    }
+
+    /**
+     * Gets the table compiled against the biomes of a level, compiling it if needed.
+     * @param level The level to get the table of.
+     */
+    public static BiomeTable get(Level level) {
+        Registry<Biome> registry = level.registryAccess().registryOrThrow(Registries.BIOME);
+
+        ConfigSnapshot config = ConfigSnapshot.get();
+
+        BiomeTable table = TABLES.get(registry);
+        if (table == null || table.compiledVersion != config.version()) table = compile(registry, config);
+
+        return table;
+    }
+
+    /**
+     * Gets the configured temperatures of a biome.
+     * @param biome The biome to get.
+     * @return The temperatures of the biome, or null if it isn't configured.
+     */
+    public Config.Common.BiomeData get(Holder<Biome> biome) {
+        // Biomes that aren't registered (such as those of some custom generators) are looked up by value.
+        return biome instanceof Holder.Reference<Biome> ? biomes.get(biome) : get(biome.value());
+    }
+
+    /**
+     * Gets the configured temperatures of a biome.
+     * @param biome The biome to get.
+     * @return The temperatures of the biome, or null if it isn't configured.
+     */
+    public Config.Common.BiomeData get(Biome biome) {
+        return biomes.get(registry.wrapAsHolder(biome));
+    }
+
+    /**
+     * Finds the configured temperatures of a biome without a compiled table, such as a biome of a world that
+     * isn't loaded. This searches the configuration, so prefer {@link #get(Holder)} when a level is available.
+     * @param biome The biome to find.
+     * @return The temperatures of the biome, or null if it isn't configured.
+     */
+    public static Config.Common.BiomeData find(Holder<Biome> biome) {
+        ConfigSnapshot config = ConfigSnapshot.get();
+
+        Optional<ResourceKey<Biome>> key = biome.unwrapKey();
+        if (key.isPresent()) {
+            Config.Common.BiomeData biomeData = config.biomesByName().get(key.get().location().toString());
+            if (biomeData != null) return biomeData;
+        }
+
+        for (Config.Common.BiomeData entry : config.biomes()) {
+            if (!entry.id().startsWith("#")) continue;
+
+            ResourceLocation id = ResourceLocation.tryParse(entry.id().substring(1));
+            if (id != null && biome.is(TagKey.create(Registries.BIOME, id))) return entry;
+        }
+
+        return null;
+    }
+
+    private static synchronized BiomeTable compile(Registry<Biome> registry, ConfigSnapshot config) {
+        BiomeTable table = TABLES.get(registry);
+        if (table != null && table.compiledVersion == config.version()) return table;
+
+        Reference2ObjectMap<Holder<Biome>, Config.Common.BiomeData> biomes = new Reference2ObjectOpenHashMap<>();
+        List<Config.Common.BiomeData> entries = config.biomes();
+
+        // Entries naming biomes are applied first, so they aren't shadowed by tags containing them.
+        for (Config.Common.BiomeData entry : entries)
+            if (!entry.id().startsWith("#")) apply(registry, biomes, entry);
+
+        for (Config.Common.BiomeData entry : entries)
+            if (entry.id().startsWith("#")) apply(registry, biomes, entry);
+
+        table = new BiomeTable(config.version(), registry, biomes);
+        TABLES.put(registry, table);
+
+        return table;
+    }
+
+    /**
+     * Drops every compiled table.
+     */
+    public static void clear() {
+        TABLES.clear();
+    }
+
+    @SubscribeEvent
+    public static void serverStopped(ServerStoppedEvent event) {
+        clear();
+    }
+
+    /**
+     * Drops the tables of the client once it leaves a world or server.
+     */
+    @Mod.EventBusSubscriber(modid = TemperaturesMod.MOD_ID, value = Dist.CLIENT)
+    public static class ClientEvents {
+        @SubscribeEvent
+        public static void loggedOut(ClientPlayerNetworkEvent.LoggingOut event) {
+            clear();
+        }
+    }
+
+    /**
+     * Sets the temperatures of every biome an entry matches, unless an earlier entry already did.
+     * @param registry The registry of the biomes.
+     * @param biomes The table being compiled.
+     * @param entry The configured entry, naming a biome or a tag prefixed by #.
+     */
+    private static void apply(Registry<Biome> registry, Reference2ObjectMap<Holder<Biome>, Config.Common.BiomeData> biomes, Config.Common.BiomeData entry) {
+        boolean isTag = entry.id().startsWith("#");
+
+        ResourceLocation id = ResourceLocation.tryParse(isTag ? entry.id().substring(1) : entry.id());
+        if (id == null) return;
+
+        if (isTag) {
+            for (Holder<Biome> biome : registry.getTagOrEmpty(TagKey.create(Registries.BIOME, id)))
+                biomes.putIfAbsent(biome, entry);
+        } else {
+            registry.getHolder(ResourceKey.create(Registries.BIOME, id)).ifPresent(biome -> biomes.putIfAbsent(biome, entry));
+        }
+    }
+}
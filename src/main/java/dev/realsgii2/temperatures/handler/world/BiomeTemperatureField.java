@@ -0,0 +1,211 @@
+package dev.realsgii2.temperatures.handler.world;
+
+import dev.realsgii2.temperatures.Config;
+import dev.realsgii2.temperatures.ConfigSnapshot;
+import dev.realsgii2.temperatures.TemperaturesMod;
+import dev.realsgii2.temperatures.Util;
+import dev.realsgii2.temperatures.api.world.TemperatureWorldView;
+import dev.realsgii2.temperatures.registry.determinants.BiomeDeterminant;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMaps;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Holder;
+import net.minecraft.core.QuartPos;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.LevelAccessor;
+import net.minecraft.world.level.biome.Biome;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraftforge.event.level.ChunkEvent;
+import net.minecraftforge.event.level.LevelEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Stores the blended day and night biome temperatures of every 4x4x4 quart cell of the loaded chunks,
+ * so finding the biome temperature of a position doesn't sample the surrounding biomes every time.
+ * <p>
+ * Blending is linear, so blending the day and night temperatures once gives the same result as blending the
+ * temperatures at any time of day. Cells are blended the first time they're queried, kept with their chunk
+ * until it unloads, and only recomputed when the configuration (including the biome samples of the dimension's
+ * {@link dev.realsgii2.temperatures.api.registry.determinant.DeterminantProfile}) or datapacks are reloaded.
+ * <p>
+ * Fields may be read from several threads at once, as long as the biomes are sampled through a view that
+ * allows it; two threads blending the same cell store the same result.
+ */
+@Mod.EventBusSubscriber(modid = TemperaturesMod.MOD_ID)
+public class BiomeTemperatureField {
+    private static final Map<LevelAccessor, BiomeTemperatureField> FIELDS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * Marks a cell that hasn't been blended yet. The day temperature of a blended cell is never NaN.
+     */
+    private static final long UNKNOWN = (long) Float.floatToRawIntBits(Float.NaN) << 32;
+
+    private static final int CELLS_PER_SECTION = 4 * 4 * 4;
+
+    private final Long2ObjectMap<ChunkField> chunks = Long2ObjectMaps.synchronize(new Long2ObjectOpenHashMap<>());
+
+    /**
+     * Gets the field of a level.
+     * @param level The level to get the field of.
+     */
+    public static BiomeTemperatureField get(Level level) {
+        return FIELDS.computeIfAbsent(level, x -> new BiomeTemperatureField());
+    }
+
+    /**
+     * Gets the blended biome temperature around a position.
+     * @param level The level of the position.
+     * @param view The view to sample biomes through when a cell hasn't been blended yet.
+     * @param pos The position to get the temperature of.
+     * @param timeValue The progress of the current day, from 0 (night) to 1 (day).
+     */
+    public double getTemperature(Level level, TemperatureWorldView view, BlockPos pos, double timeValue) {
+        long cell = getCell(level, view, pos);
+
+        return Util.Mathf.lerp(night(cell), day(cell), timeValue);
+    }
+
+    /**
+     * Gets the packed day and night temperatures of the cell containing a position.
+     * @param level The level of the position.
+     * @param view The view to sample biomes through.
+     * @param pos The position to get the cell of.
+     */
+    private long getCell(Level level, TemperatureWorldView view, BlockPos pos) {
+        ChunkField chunk = chunks.get(ChunkPos.asLong(pos));
+        int sectionIndex = level.getSectionIndex(pos.getY());
+
+        if (chunk == null || sectionIndex < 0 || sectionIndex >= level.getSectionsCount())
+            return blend(level, view, pos);
+
+        int index = sectionIndex * CELLS_PER_SECTION
+                + (QuartPos.fromBlock(pos.getY()) & 3) * 16
+                + (QuartPos.fromBlock(pos.getZ()) & 3) * 4
+                + (QuartPos.fromBlock(pos.getX()) & 3);
+
+        return chunk.get(level, view, index, pos);
+    }
+
+    /**
+     * Samples the biomes around a cell and blends their temperatures.
+     * @param level The level of the cell.
+     * @param view The view to sample biomes through.
+     * @param pos A position within the cell.
+     * @return The blended day and night temperatures, packed.
+     */
+    private static long blend(Level level, TemperatureWorldView view, BlockPos pos) {
+        BlockPos centre = new BlockPos(
+                QuartPos.toBlock(QuartPos.fromBlock(pos.getX())) + 2,
+                QuartPos.toBlock(QuartPos.fromBlock(pos.getY())) + 2,
+                QuartPos.toBlock(QuartPos.fromBlock(pos.getZ())) + 2
+        );
+
+        BiomeTable table = BiomeTable.get(level);
+        double day = 0.0;
+        double night = 0.0;
+
+        for (Util.Pair<Holder<Biome>, Double> biome : Util.World.getNearbyWeightedBiomeHolders(view, centre, BiomeDeterminant.getSamples(level.dimension()))) {
+            Config.Common.BiomeData biomeData = table.get(biome.first);
+            if (biomeData == null) continue;
+
+            day += biomeData.dayTemperature() * biome.second;
+            night += biomeData.nightTemperature() * biome.second;
+        }
+
+        return pack((float) day, (float) night);
+    }
+
+    private static long pack(float day, float night) {
+        return (long) Float.floatToRawIntBits(day) << 32 | Float.floatToRawIntBits(night) & 0xFFFFFFFFL;
+    }
+
+    private static float day(long cell) {
+        return Float.intBitsToFloat((int) (cell >>> 32));
+    }
+
+    private static float night(long cell) {
+        return Float.intBitsToFloat((int) cell);
+    }
+
+    @SubscribeEvent
+    public static void chunkLoaded(ChunkEvent.Load event) {
+        if (event.getLevel() instanceof Level level && event.getChunk() instanceof LevelChunk chunk)
+            get(level).chunks.put(chunk.getPos().toLong(), new ChunkField(chunk.getSectionsCount()));
+    }
+
+    @SubscribeEvent
+    public static void chunkUnloaded(ChunkEvent.Unload event) {
+        if (event.getLevel() instanceof Level level)
+            get(level).chunks.remove(event.getChunk().getPos().toLong());
+    }
+
+    @SubscribeEvent
+    public static void levelUnloaded(LevelEvent.Unload event) {
+        FIELDS.remove(event.getLevel());
+    }
+
+    /**
+     * The blended cells of one loaded chunk.
+     * <p>
+     * Cells are replaced by a fresh array once the configuration changes, instead of being reset in place, so a
+     * thread still reading the previous array never publishes a stale cell into the new one. Cells are read with
+     * acquire and written with release ordering, so a blended cell is seen whole by every thread.
+     */
+    private static final class ChunkField {
+        private final int sections;
+        private volatile Cells cells;
+
+        private ChunkField(int sections) {
+            this.sections = sections;
+            this.cells = new Cells(ConfigSnapshot.get().version(), sections * CELLS_PER_SECTION);
+        }
+
+        /**
+         * Gets a cell of this chunk, blending it if it hasn't been yet.
+         * @param level The level of the chunk.
+         * @param view The view to sample biomes through.
+         * @param index The index of the cell in this chunk.
+         * @param pos A position within the cell.
+         */
+        private long get(Level level, TemperatureWorldView view, int index, BlockPos pos) {
+            int currentVersion = ConfigSnapshot.get().version();
+
+            Cells current = cells;
+            if (current.version != currentVersion) {
+                synchronized (this) {
+                    current = cells;
+                    if (current.version != currentVersion)
+                        cells = current = new Cells(currentVersion, sections * CELLS_PER_SECTION);
+                }
+            }
+
+            long cell = current.values.getAcquire(index);
+            if (Float.isNaN(day(cell))) current.values.setRelease(index, cell = blend(level, view, pos));
+
+            return cell;
+        }
+    }
+
+    /**
+     * The cells of one chunk blended with one version of the configuration.
+     */
+    private static final class Cells {
+        private final int version;
+        private final AtomicLongArray values;
+
+        private Cells(int version, int length) {
+            this.version = version;
+            this.values = new AtomicLongArray(length);
+
+            for (int i = 0; i < length; i++) values.setPlain(i, UNKNOWN);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package dev.realsgii2.temperatures.handler.world;
+
+import dev.realsgii2.temperatures.ConfigSnapshot;
+import dev.realsgii2.temperatures.TemperaturesMod;
+import dev.realsgii2.temperatures.api.registry.determinant.DeterminantCache;
+import dev.realsgii2.temperatures.api.registry.determinant.DeterminantPipeline;
+import dev.realsgii2.temperatures.api.registry.determinant.IDeterminant;
+import dev.realsgii2.temperatures.api.world.TemperatureWorldView;
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.LevelAccessor;
+import net.minecraftforge.event.level.LevelEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Shares the results of determinants that only depend on the location (see
+ * {@link DeterminantPipeline#hasLocationOnly()}) between every player at the same block of a server level, so
+ * players standing together (such as in farms, hubs or shops) don't each compute the biome, weather and ambient
+ * temperatures again.
+ * <p>
+ * Caches are kept by block position, with a few slots for the pipelines executed there, and the least recently used
+ * positions are dropped once there are more than {@link ConfigSnapshot#locationCacheSize()}. Looking up a cache
+ * doesn't allocate once the position has one. Cached results are only reused while their inputs are unchanged, so a
+ * new time bucket only invalidates the results depending on the time of day, and block changes within
+ * {@link IDeterminant#NEARBY_BLOCKS_RADIUS} and weather changes invalidate the results depending on them.
+ * Determinants depending on the player, such as whether they're in water, still use the cache of each player.
+ */
+@Mod.EventBusSubscriber(modid = TemperaturesMod.MOD_ID)
+public class LocationCache {
+    private static final Map<LevelAccessor, LocationCache> CACHES = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * The most pipelines a position keeps caches for. Pipelines are usually compiled once per registry,
+     * so there is rarely more than one.
+     */
+    private static final int SLOTS = 4;
+
+    /**
+     * The caches of every position, as a long, from the least to the most recently used.
+     */
+    private final Long2ObjectLinkedOpenHashMap<Slots> entries = new Long2ObjectLinkedOpenHashMap<>();
+
+    /**
+     * Gets the cache shared by every execution of a pipeline at the position of a view.
+     * @param pipeline The pipeline being executed.
+     * @param view The world around the position.
+     * @return The cache, or null if the pipeline has nothing to share, the level isn't a server level,
+     *         or the cache is disabled.
+     */
+    public static @Nullable DeterminantCache get(DeterminantPipeline pipeline, TemperatureWorldView view) {
+        if (!pipeline.hasLocationOnly() || ConfigSnapshot.get().locationCacheSize() <= 0) return null;
+
+        Level level = view.level();
+        if (!(level instanceof ServerLevel)) return null;
+
+        LocationCache cache = CACHES.computeIfAbsent(level, x -> new LocationCache());
+        long position = view.position().asLong();
+
+        synchronized (cache.entries) {
+            Slots slots = cache.entries.getAndMoveToLast(position);
+
+            if (slots == null) {
+                cache.entries.putAndMoveToLast(position, slots = new Slots());
+
+                int size = ConfigSnapshot.get().locationCacheSize();
+                while (cache.entries.size() > size) cache.entries.removeFirst();
+            }
+
+            return slots.get(pipeline);
+        }
+    }
+
+    @SubscribeEvent
+    public static void levelUnloaded(LevelEvent.Unload event) {
+        CACHES.remove(event.getLevel());
+    }
+
+    /**
+     * The caches of the pipelines executed at one position, compared by identity. Once every slot is taken,
+     * pipelines take over the slots in turn.
+     */
+    private static final class Slots {
+        private final DeterminantPipeline[] pipelines = new DeterminantPipeline[SLOTS];
+        private final DeterminantCache[] caches = new DeterminantCache[SLOTS];
+        private int next = 0;
+
+        private DeterminantCache get(DeterminantPipeline pipeline) {
+            for (int i = 0; i < SLOTS; i++)
+                if (pipelines[i] == pipeline) return caches[i];
+
+            int slot = next;
+            next = (next + 1) % SLOTS;
+
+            pipelines[slot] = pipeline;
+            return caches[slot] = new DeterminantCache();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package dev.realsgii2.temperatures.handler.world;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+
+/**
+ * Counts the changes made to every chunk section, so caches of a section can tell whether it changed without
+ * relying on block change notifications, which commands such as /fill and /clone, structures and other mods
+ * skip.
+ * <p>
+ * Every section counts the blocks set in it, as well as the blocks and biomes it receives from the server.
+ * Counts start at 0 when a section is created and aren't kept when its chunk unloads, so caches should also
+ * compare the section itself.
+ */
+public final class SectionModifications {
+    private SectionModifications() {
+    }
+
+    /**
+     * Gets the amount of changes made to a chunk section so far.
+     * @param section The section to check.
+     */
+    public static int get(LevelChunkSection section) {
+        return ((Tracked) section).temperatures$getModifications();
+    }
+
+    /**
+     * Gets a number that changes whenever a block within a distance of a position changes, or the chunk of one
+     * of these blocks loads or unloads. Must be called on the thread owning the level.
+     * @param level The level of the position.
+     * @param pos The centre of the area.
+     * @param radius The distance from the centre to cover, along each axis.
+     */
+    public static long version(Level level, BlockPos pos, int radius) {
+        long version = 1;
+
+        for (int chunkX = SectionPos.blockToSectionCoord(pos.getX() - radius); chunkX <= SectionPos.blockToSectionCoord(pos.getX() + radius); chunkX++) {
+            for (int chunkZ = SectionPos.blockToSectionCoord(pos.getZ() - radius); chunkZ <= SectionPos.blockToSectionCoord(pos.getZ() + radius); chunkZ++) {
+                LevelChunk chunk = level.getChunkSource().getChunkNow(chunkX, chunkZ);
+
+                for (int sectionY = SectionPos.blockToSectionCoord(pos.getY() - radius); sectionY <= SectionPos.blockToSectionCoord(pos.getY() + radius); sectionY++) {
+                    int index = level.getSectionIndexFromSectionY(sectionY);
+                    if (chunk == null || index < 0 || index >= chunk.getSectionsCount()) {
+                        version = version * 31 - 1;
+                        continue;
+                    }
+
+                    // Counts restart when a chunk loads again, so the section itself is part of the version.
+                    LevelChunkSection section = chunk.getSection(index);
+                    version = (version * 31 + System.identityHashCode(section)) * 31 + get(section);
+                }
+            }
+        }
+
+        return version;
+    }
+
+    /**
+     * Implemented by every {@link LevelChunkSection}.
+     */
+    public interface Tracked {
+        int temperatures$getModifications();
+    }
+}
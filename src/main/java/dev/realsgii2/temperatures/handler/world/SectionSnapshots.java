@@ -0,0 +1,132 @@
+package dev.realsgii2.temperatures.handler.world;
+
+import dev.realsgii2.temperatures.TemperaturesMod;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMaps;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.Holder;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.LevelAccessor;
+import net.minecraft.world.level.biome.Biome;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.chunk.PalettedContainer;
+import net.minecraft.world.level.chunk.PalettedContainerRO;
+import net.minecraftforge.event.level.ChunkEvent;
+import net.minecraftforge.event.level.LevelEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Keeps immutable copies of the chunk sections of a server level, so blocks and biomes can be read away from the
+ * server thread while it keeps changing the level.
+ * <p>
+ * Sections are copied on the server thread the first time they're requested, and the copy is shared by every
+ * request until the section changes, as counted by {@link SectionModifications}.
+ * <p>
+ * Biome containers are never changed in place (commands filling biomes replace them, which counts as a change), so
+ * copies keep the container of the section instead of copying it.
+ */
+@Mod.EventBusSubscriber(modid = TemperaturesMod.MOD_ID)
+public class SectionSnapshots {
+    private static final Map<LevelAccessor, SectionSnapshots> SNAPSHOTS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final Long2ObjectMap<Section> sections = Long2ObjectMaps.synchronize(new Long2ObjectOpenHashMap<>());
+
+    /**
+     * Gets the copies of a level.
+     * @param level The level to get the copies of.
+     * @return The copies, or null if the level isn't a server level.
+     */
+    public static SectionSnapshots get(Level level) {
+        if (!(level instanceof ServerLevel)) return null;
+
+        return SNAPSHOTS.computeIfAbsent(level, x -> new SectionSnapshots());
+    }
+
+    /**
+     * Gets a copy of a section of a chunk, copying it if it changed since the last copy.
+     * Must be called on the server thread.
+     * @param chunk The chunk of the section.
+     * @param sectionY The Y coordinate of the section.
+     * @return The copy, or null if the section is outside the level.
+     */
+    public @Nullable Section section(LevelChunk chunk, int sectionY) {
+        int index = chunk.getSectionIndexFromSectionY(sectionY);
+        if (index < 0 || index >= chunk.getSectionsCount()) return null;
+
+        LevelChunkSection source = chunk.getSection(index);
+        long key = SectionPos.asLong(chunk.getPos().x, sectionY, chunk.getPos().z);
+        int modifications = SectionModifications.get(source);
+
+        Section section = sections.get(key);
+        if (section == null || section.source != source || section.modifications != modifications) {
+            section = new Section(source, modifications);
+            sections.put(key, section);
+        }
+
+        return section;
+    }
+
+    @SubscribeEvent
+    public static void chunkUnloaded(ChunkEvent.Unload event) {
+        if (event.getLevel() instanceof ServerLevel level && event.getChunk() instanceof LevelChunk chunk) {
+            SectionSnapshots snapshots = get(level);
+            ChunkPos pos = chunk.getPos();
+
+            for (int sectionY = chunk.getMinSection(); sectionY < chunk.getMaxSection(); sectionY++)
+                snapshots.sections.remove(SectionPos.asLong(pos.x, sectionY, pos.z));
+        }
+    }
+
+    @SubscribeEvent
+    public static void levelUnloaded(LevelEvent.Unload event) {
+        SNAPSHOTS.remove(event.getLevel());
+    }
+
+    /**
+     * An immutable copy of the blocks and biomes of one chunk section. Safe to read from any thread.
+     */
+    public static final class Section {
+        private final LevelChunkSection source;
+        private final int modifications;
+        private final PalettedContainer<BlockState> states;
+        private final PalettedContainerRO<Holder<Biome>> biomes;
+
+        private Section(LevelChunkSection source, int modifications) {
+            this.source = source;
+            this.modifications = modifications;
+            this.states = source.getStates().copy();
+            this.biomes = source.getBiomes();
+        }
+
+        /**
+         * Gets a block of this section.
+         * @param x The X coordinate of the block; only its position within the section is used.
+         * @param y The Y coordinate of the block; only its position within the section is used.
+         * @param z The Z coordinate of the block; only its position within the section is used.
+         */
+        public BlockState getBlockState(int x, int y, int z) {
+            return states.get(x & 15, y & 15, z & 15);
+        }
+
+        /**
+         * Gets a biome of this section.
+         * @param quartX The X quart coordinate of the biome; only its position within the section is used.
+         * @param quartY The Y quart coordinate of the biome; only its position within the section is used.
+         * @param quartZ The Z quart coordinate of the biome; only its position within the section is used.
+         */
+        public Holder<Biome> getNoiseBiome(int quartX, int quartY, int quartZ) {
+            return biomes.get(quartX & 3, quartY & 3, quartZ & 3);
+        }
+    }
+}
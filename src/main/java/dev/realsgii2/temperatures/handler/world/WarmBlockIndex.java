@@ -0,0 +1,211 @@
+package dev.realsgii2.temperatures.handler.world;
+
+import dev.realsgii2.temperatures.TemperaturesMod;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMaps;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.LevelAccessor;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraftforge.event.level.ChunkEvent;
+import net.minecraftforge.event.level.LevelEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Tracks the positions of warm blocks in every loaded chunk section of a server level, so
+ * ambient temperature queries only visit actual heat sources instead of every nearby block.
+ * <p>
+ * Chunks are indexed when they load and dropped when they unload. Sections that changed since
+ * they were indexed, as counted by {@link SectionModifications}, or that were indexed with an
+ * outdated {@link WarmthTable}, are rescanned the next time they're requested on the server
+ * thread. Other threads get the section as it was last indexed; {@link #section} should be
+ * called for the sections they read beforehand.
+ * <p>
+ * Most sections contain no warm block at all, which their palette reveals without reading
+ * any blocks; only sections whose palette has a warm state are scanned. Like any other result,
+ * a section found empty is checked again once its modification count moves.
+ */
+@Mod.EventBusSubscriber(modid = TemperaturesMod.MOD_ID)
+public class WarmBlockIndex {
+    private static final Map<LevelAccessor, WarmBlockIndex> INDEXES = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final Long2ObjectMap<IndexedChunk> chunks = Long2ObjectMaps.synchronize(new Long2ObjectOpenHashMap<>());
+
+    /**
+     * Gets the index of a level.
+     * @param level The level to get the index of.
+     * @return The index, or null if the level isn't indexed (client levels aren't).
+     */
+    public static WarmBlockIndex get(Level level) {
+        if (!(level instanceof ServerLevel)) return null;
+
+        return INDEXES.computeIfAbsent(level, x -> new WarmBlockIndex());
+    }
+
+    /**
+     * Gets the indexed warm blocks of a chunk section.
+     * @param sectionX The X coordinate of the section.
+     * @param sectionY The Y coordinate of the section.
+     * @param sectionZ The Z coordinate of the section.
+     * @return The indexed section, or {@link Section#EMPTY} if it has no warm blocks or isn't loaded.
+     */
+    public Section section(int sectionX, int sectionY, int sectionZ) {
+        IndexedChunk chunk = chunks.get(ChunkPos.asLong(sectionX, sectionZ));
+        if (chunk == null) return Section.EMPTY;
+
+        return chunk.section(chunk.chunk.getSectionIndexFromSectionY(sectionY), WarmthTable.get());
+    }
+
+    @SubscribeEvent
+    public static void chunkLoaded(ChunkEvent.Load event) {
+        if (event.getLevel() instanceof ServerLevel level && event.getChunk() instanceof LevelChunk chunk)
+            get(level).chunks.put(chunk.getPos().toLong(), new IndexedChunk(chunk));
+    }
+
+    @SubscribeEvent
+    public static void chunkUnloaded(ChunkEvent.Unload event) {
+        if (event.getLevel() instanceof ServerLevel level && event.getChunk() instanceof LevelChunk chunk)
+            get(level).chunks.remove(chunk.getPos().toLong());
+    }
+
+    @SubscribeEvent
+    public static void levelUnloaded(LevelEvent.Unload event) {
+        INDEXES.remove(event.getLevel());
+    }
+
+    /**
+     * The indexed sections of one loaded chunk.
+     */
+    private static final class IndexedChunk {
+        private final LevelChunk chunk;
+        private final Section[] sections;
+
+        private IndexedChunk(LevelChunk chunk) {
+            this.chunk = chunk;
+            this.sections = new Section[chunk.getSectionsCount()];
+
+            WarmthTable table = WarmthTable.get();
+            for (int i = 0; i < sections.length; i++) section(i, table);
+        }
+
+        /**
+         * Gets a section of this chunk, scanning it if it changed or wasn't indexed with this table.
+         * Sections are only scanned on the server thread, as scanning reads the live section.
+         * @param index The index of the section in the chunk.
+         * @param table The current warmth table.
+         */
+        private synchronized Section section(int index, WarmthTable table) {
+            if (index < 0 || index >= sections.length) return Section.EMPTY;
+
+            Section section = sections[index];
+            if (section != null && section.version == table.version() && section.modifications == modifications(index)) return section;
+            if (section != null && !isServerThread()) return section;
+
+            return sections[index] = Section.scan(chunk.getSection(index), table, modifications(index));
+        }
+
+        private int modifications(int index) {
+            return SectionModifications.get(chunk.getSection(index));
+        }
+
+        private boolean isServerThread() {
+            return chunk.getLevel().getServer() == null || chunk.getLevel().getServer().isSameThread();
+        }
+    }
+
+    /**
+     * The warm blocks of one chunk section. Immutable; changes create a new Section.
+     */
+    public static final class Section {
+        public static final Section EMPTY = new Section(0, 0, new short[0]);
+
+        /**
+         * The version of the {@link WarmthTable} this section was indexed with.
+         */
+        private final int version;
+
+        /**
+         * The {@link SectionModifications} count of the chunk section when it was indexed.
+         */
+        private final int modifications;
+        private final short[] positions;
+
+        private Section(int version, int modifications, short[] positions) {
+            this.version = version;
+            this.modifications = modifications;
+            this.positions = positions;
+        }
+
+        /**
+         * Scans every block of a chunk section for warm blocks.
+         * Sections whose palette has no warm states aren't read at all.
+         * @param chunkSection The section to scan.
+         * @param table The warmth table to check blocks against.
+         * @param modifications The {@link SectionModifications} count of the section.
+         */
+        private static Section scan(LevelChunkSection chunkSection, WarmthTable table, int modifications) {
+            short[] found = new short[0];
+            int count = 0;
+
+            if (table.mayContainWarm(chunkSection))
+                for (int y = 0; y < SectionPos.SECTION_SIZE; y++)
+                    for (int z = 0; z < SectionPos.SECTION_SIZE; z++)
+                        for (int x = 0; x < SectionPos.SECTION_SIZE; x++)
+                            if (table.isWarm(chunkSection.getBlockState(x, y, z))) {
+                                if (count == found.length) found = Arrays.copyOf(found, Math.max(8, count * 2));
+                                found[count++] = pack(x, y, z);
+                            }
+
+            return new Section(table.version(), modifications, Arrays.copyOf(found, count));
+        }
+
+        private static short pack(int x, int y, int z) {
+            return (short) (x | z << 4 | y << 8);
+        }
+
+        /**
+         * The amount of warm blocks in this section.
+         */
+        public int size() {
+            return positions.length;
+        }
+
+        public boolean isEmpty() {
+            return positions.length == 0;
+        }
+
+        /**
+         * Gets the local X coordinate, from 0 to 15, of a warm block in this section.
+         * @param index The index of the warm block.
+         */
+        public int x(int index) {
+            return positions[index] & 15;
+        }
+
+        /**
+         * Gets the local Y coordinate, from 0 to 15, of a warm block in this section.
+         * @param index The index of the warm block.
+         */
+        public int y(int index) {
+            return positions[index] >> 8 & 15;
+        }
+
+        /**
+         * Gets the local Z coordinate, from 0 to 15, of a warm block in this section.
+         * @param index The index of the warm block.
+         */
+        public int z(int index) {
+            return positions[index] >> 4 & 15;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package dev.realsgii2.temperatures.handler.world;
+
+import dev.realsgii2.temperatures.ConfigSnapshot;
+import dev.realsgii2.temperatures.Util;
+import it.unimi.dsi.fastutil.objects.Reference2DoubleMap;
+import it.unimi.dsi.fastutil.objects.Reference2DoubleOpenHashMap;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.block.state.properties.Property;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraftforge.registries.ForgeRegistries;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * The warm block configuration compiled into a lookup keyed by {@link BlockState}, so checking the warmth
+ * of a block is one identity lookup instead of resolving and matching its name.
+ * <p>
+ * Entries may target specific states, such as {@code minecraft:campfire[lit=true]}. Those take priority over
+ * entries naming the whole block; otherwise, the first entry listed wins.
+ */
+public final class WarmthTable {
+    private static volatile WarmthTable current = null;
+
+    private final int version;
+    private final Reference2DoubleMap<BlockState> warmth;
+    private final double maxWarmth;
+    private final Predicate<BlockState> isWarm = this::isWarm;
+
+    private WarmthTable(int version, Reference2DoubleMap<BlockState> warmth) {
+        this.version = version;
+        this.warmth = warmth;
+
+        double maxWarmth = 0.0;
+        for (double value : warmth.values()) maxWarmth = Math.max(maxWarmth, Math.abs(value));
+
+        this.maxWarmth = maxWarmth;
+    }
+
+    /**
+     * Gets the table compiled from the current configuration, compiling it if needed.
+     */
+    public static WarmthTable get() {
+        ConfigSnapshot config = ConfigSnapshot.get();
+
+        WarmthTable table = current;
+        if (table == null || table.version != config.version()) table = compile(config);
+
+        return table;
+    }
+
+    /**
+     * The version of the {@link ConfigSnapshot} this table was compiled from.
+     */
+    public int version() {
+        return version;
+    }
+
+    /**
+     * Determines whether a block state is configured as warm.
+     * @param state The block state to check.
+     */
+    public boolean isWarm(BlockState state) {
+        return warmth.containsKey(state);
+    }
+
+    /**
+     * Determines whether a chunk section may contain a warm block by checking its palette,
+     * without reading any of its blocks.
+     * @param section The section to check.
+     * @return False if the section definitely has no warm blocks.
+     */
+    public boolean mayContainWarm(LevelChunkSection section) {
+        return !section.hasOnlyAir() && !warmth.isEmpty() && section.maybeHas(isWarm);
+    }
+
+    /**
+     * Gets the configured warmth of a block state.
+     * @param state The block state to check.
+     * @return The warmth of the state, or NaN if it isn't warm.
+     */
+    public double getWarmth(BlockState state) {
+        return warmth.getDouble(state);
+    }
+
+    /**
+     * Gets the highest absolute warmth of any block state, or 0 if no block is warm.
+     */
+    public double maxWarmth() {
+        return maxWarmth;
+    }
+
+    private static synchronized WarmthTable compile(ConfigSnapshot config) {
+        if (current != null && current.version == config.version()) return current;
+
+        Reference2DoubleMap<BlockState> warmth = new Reference2DoubleOpenHashMap<>();
+        warmth.defaultReturnValue(Double.NaN);
+
+        List<Util.Pair<String, Double>> entries = config.warmBlocks();
+
+        // Entries naming states are applied first, so they aren't shadowed by entries naming the whole block.
+        for (Util.Pair<String, Double> entry : entries)
+            if (entry.first.contains("[")) apply(warmth, entry.first, entry.second);
+
+        for (Util.Pair<String, Double> entry : entries)
+            if (!entry.first.contains("[")) apply(warmth, entry.first, entry.second);
+
+        current = new WarmthTable(config.version(), warmth);
+        return current;
+    }
+
+    /**
+     * Sets the warmth of every state an entry matches, unless an earlier entry already did.
+     * @param warmth The table being compiled.
+     * @param name The block name, optionally followed by [property=value,...].
+     * @param value The warmth of the entry.
+     */
+    private static void apply(Reference2DoubleMap<BlockState> warmth, String name, double value) {
+        Map<String, String> properties = new HashMap<>();
+
+        int bracket = name.indexOf('[');
+        if (bracket != -1) {
+            int end = name.lastIndexOf(']');
+            if (end < bracket) end = name.length();
+
+            for (String property : name.substring(bracket + 1, end).split(",")) {
+                String[] pair = property.split("=", 2);
+                if (pair.length == 2) properties.put(pair[0].trim(), pair[1].trim());
+            }
+
+            name = name.substring(0, bracket);
+        }
+
+        ResourceLocation blockId = ResourceLocation.tryParse(name.trim());
+        if (blockId == null || !ForgeRegistries.BLOCKS.containsKey(blockId)) return;
+
+        Block block = ForgeRegistries.BLOCKS.getValue(blockId);
+        if (block == null) return;
+
+        for (BlockState state : block.getStateDefinition().getPossibleStates())
+            if (!warmth.containsKey(state) && matches(block, state, properties))
+                warmth.put(state, value);
+    }
+
+    private static boolean matches(Block block, BlockState state, Map<String, String> properties) {
+        for (Map.Entry<String, String> entry : properties.entrySet()) {
+            Property<?> property = block.getStateDefinition().getProperty(entry.getKey());
+            if (property == null || !getValueName(state, property).equals(entry.getValue())) return false;
+        }
+
+        return true;
+    }
+
+    private static <T extends Comparable<T>> String getValueName(BlockState state, Property<T> property) {
+        return property.getName(state.getValue(property));
+    }
+}
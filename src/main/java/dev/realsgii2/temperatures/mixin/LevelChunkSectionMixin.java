@@ -0,0 +1,44 @@
+package dev.realsgii2.temperatures.mixin;
+
+import dev.realsgii2.temperatures.handler.world.SectionModifications;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+/**
+ * Counts the changes made to a chunk section for {@link SectionModifications}.
+ */
+@Mixin(LevelChunkSection.class)
+public abstract class LevelChunkSectionMixin implements SectionModifications.Tracked {
+    /**
+     * Only the thread owning the level changes loaded sections, so the count isn't incremented atomically.
+     */
+    @Unique
+    private volatile int temperatures$modifications;
+
+    @Override
+    public int temperatures$getModifications() {
+        return temperatures$modifications;
+    }
+
+    @Inject(method = "setBlockState(IIILnet/minecraft/world/level/block/state/BlockState;Z)Lnet/minecraft/world/level/block/state/BlockState;", at = @At("RETURN"))
+    private void temperatures$blockSet(int x, int y, int z, BlockState state, boolean useLocks, CallbackInfoReturnable<BlockState> cir) {
+        if (cir.getReturnValue() != state) temperatures$modifications++;
+    }
+
+    @Inject(method = "read", at = @At("RETURN"))
+    private void temperatures$read(FriendlyByteBuf buffer, CallbackInfo ci) {
+        temperatures$modifications++;
+    }
+
+    @Inject(method = "fillBiomesFromNoise", at = @At("RETURN"))
+    private void temperatures$biomesFilled(CallbackInfo ci) {
+        temperatures$modifications++;
+    }
+}
@@ -0,0 +1,55 @@
+package dev.realsgii2.temperatures.network;
+
+import dev.realsgii2.temperatures.TemperaturesMod;
+import dev.realsgii2.temperatures.handler.Temperature;
+import dev.realsgii2.temperatures.handler.TemperatureSnapshot;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.ClientPacketListener;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.client.event.ClientPlayerNetworkEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The temperature of the local player, as last sent by the server.
+ * <p>
+ * The server is the authority on temperatures, as its configuration and world decide damage; the client only
+ * computes temperatures itself when the server doesn't have Temperatures.
+ */
+@Mod.EventBusSubscriber(modid = TemperaturesMod.MOD_ID, value = Dist.CLIENT)
+public class ClientTemperatureState {
+    private static TemperatureSnapshot latest = null;
+
+    /**
+     * Gets the temperature of the local player.
+     * @return The temperature, or null if there is no player or the server hasn't sent it yet.
+     */
+    public static @Nullable TemperatureSnapshot get() {
+        Minecraft mc = Minecraft.getInstance();
+        if (mc.player == null) return null;
+
+        if (latest != null) return latest;
+        if (isServerPresent()) return null;
+
+        return new Temperature(mc.player).snapshot();
+    }
+
+    /**
+     * Determines whether the server the client is connected to has Temperatures.
+     */
+    public static boolean isServerPresent() {
+        ClientPacketListener connection = Minecraft.getInstance().getConnection();
+        return connection != null && ModNetwork.CHANNEL.isRemotePresent(connection.getConnection());
+    }
+
+    static void receive(TemperatureStatePacket packet) {
+        Minecraft mc = Minecraft.getInstance();
+        latest = packet.toSnapshot(mc.player == null ? 0 : mc.player.tickCount);
+    }
+
+    @SubscribeEvent
+    public static void loggedOut(ClientPlayerNetworkEvent.LoggingOut event) {
+        latest = null;
+    }
+}
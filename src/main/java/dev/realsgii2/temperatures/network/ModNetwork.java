@@ -0,0 +1,41 @@
+package dev.realsgii2.temperatures.network;
+
+import dev.realsgii2.temperatures.TemperaturesMod;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraftforge.network.NetworkDirection;
+import net.minecraftforge.network.NetworkRegistry;
+import net.minecraftforge.network.PacketDistributor;
+import net.minecraftforge.network.simple.SimpleChannel;
+
+/**
+ * The network channel of Temperatures, through which the server sends each player their temperature.
+ * <p>
+ * Servers without Temperatures are accepted; clients connected to them compute temperatures themselves.
+ */
+public class ModNetwork {
+    private static final String PROTOCOL_VERSION = "1";
+
+    public static final SimpleChannel CHANNEL = NetworkRegistry.newSimpleChannel(
+            TemperaturesMod.location("main"),
+            () -> PROTOCOL_VERSION,
+            NetworkRegistry.acceptMissingOr(PROTOCOL_VERSION),
+            NetworkRegistry.acceptMissingOr(PROTOCOL_VERSION)
+    );
+
+    public static void register() {
+        CHANNEL.messageBuilder(TemperatureStatePacket.class, 0, NetworkDirection.PLAY_TO_CLIENT)
+                .encoder(TemperatureStatePacket::encode)
+                .decoder(TemperatureStatePacket::decode)
+                .consumerMainThread(TemperatureStatePacket::handle)
+                .add();
+    }
+
+    /**
+     * Sends a packet to a player.
+     * @param player The player to send the packet to.
+     * @param packet The packet to send.
+     */
+    public static void send(ServerPlayer player, Object packet) {
+        CHANNEL.send(PacketDistributor.PLAYER.with(() -> player), packet);
+    }
+}
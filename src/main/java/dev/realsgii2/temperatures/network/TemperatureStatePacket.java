@@ -0,0 +1,75 @@
+package dev.realsgii2.temperatures.network;
+
+import dev.realsgii2.temperatures.handler.TemperatureSnapshot;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.fml.DistExecutor;
+import net.minecraftforge.network.NetworkEvent;
+
+import java.util.function.Supplier;
+
+/**
+ * Sent by the server whenever the temperature of a player changed enough to show.
+ *
+ * @param temperature                The result of all determinants.
+ * @param ambientExcludedTemperature The result of all determinants, excluding the ambient determinant.
+ * @param coldResistance             The lowest temperature the player can survive.
+ * @param heatResistance             The highest temperature the player can survive.
+ * @param flags                      Whether the player is burn resistant, freeze resistant and on fire, one bit each.
+ */
+public record TemperatureStatePacket(float temperature, float ambientExcludedTemperature,
+                                     float coldResistance, float heatResistance, byte flags) {
+    private static final int BURN_RESISTANT = 1;
+    private static final int FREEZE_RESISTANT = 1 << 1;
+    private static final int ON_FIRE = 1 << 2;
+
+    /**
+     * Creates the packet of a snapshot.
+     * @param snapshot The snapshot to send.
+     */
+    public static TemperatureStatePacket of(TemperatureSnapshot snapshot) {
+        return new TemperatureStatePacket(
+                (float) snapshot.temperature(),
+                (float) snapshot.ambientExcludedTemperature(),
+                (float) snapshot.coldResistance(),
+                (float) snapshot.heatResistance(),
+                (byte) ((snapshot.burnResistant() ? BURN_RESISTANT : 0)
+                        | (snapshot.freezeResistant() ? FREEZE_RESISTANT : 0)
+                        | (snapshot.onFire() ? ON_FIRE : 0))
+        );
+    }
+
+    /**
+     * Gets the snapshot this packet describes.
+     * @param tickCount The tick count of the player receiving it.
+     */
+    public TemperatureSnapshot toSnapshot(int tickCount) {
+        return new TemperatureSnapshot(
+                tickCount,
+                temperature,
+                ambientExcludedTemperature,
+                coldResistance,
+                heatResistance,
+                (flags & BURN_RESISTANT) != 0,
+                (flags & FREEZE_RESISTANT) != 0,
+                (flags & ON_FIRE) != 0
+        );
+    }
+
+    public void encode(FriendlyByteBuf buffer) {
+        buffer.writeFloat(temperature);
+        buffer.writeFloat(ambientExcludedTemperature);
+        buffer.writeFloat(coldResistance);
+        buffer.writeFloat(heatResistance);
+        buffer.writeByte(flags);
+    }
+
+    public static TemperatureStatePacket decode(FriendlyByteBuf buffer) {
+        return new TemperatureStatePacket(buffer.readFloat(), buffer.readFloat(), buffer.readFloat(), buffer.readFloat(), buffer.readByte());
+    }
+
+    public void handle(Supplier<NetworkEvent.Context> context) {
+        DistExecutor.unsafeRunWhenOn(Dist.CLIENT, () -> () -> ClientTemperatureState.receive(this));
+        context.get().setPacketHandled(true);
+    }
+}
@@ -0,0 +1,58 @@
+package dev.realsgii2.temperatures.network;
+
+import dev.realsgii2.temperatures.handler.TemperatureSnapshot;
+import net.minecraft.server.level.ServerPlayer;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Sends players their temperature, only when it changed enough to show on their gauge.
+ */
+public class TemperatureSync {
+    private static final Map<ServerPlayer, TemperatureSnapshot> SENT = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * How much a temperature must change to be sent again, if nothing else changed.
+     */
+    private static final double TEMPERATURE_THRESHOLD = 0.01;
+
+    /**
+     * Sends the temperature of a player, if it changed enough since it was last sent.
+     * @param player The player to send the temperature to.
+     * @param snapshot The current temperature of the player.
+     */
+    public static void sync(ServerPlayer player, TemperatureSnapshot snapshot) {
+        TemperatureSnapshot sent = SENT.get(player);
+        if (sent == snapshot || (sent != null && !hasChanged(sent, snapshot))) return;
+
+        SENT.put(player, snapshot);
+        ModNetwork.send(player, TemperatureStatePacket.of(snapshot));
+    }
+
+    /**
+     * Determines whether a temperature changed enough to be sent again.
+     * Any change to what the gauge shows counts, even if the temperature barely changed.
+     * @param sent The temperature last sent.
+     * @param current The current temperature.
+     */
+    private static boolean hasChanged(TemperatureSnapshot sent, TemperatureSnapshot current) {
+        return Math.abs(sent.temperature() - current.temperature()) > TEMPERATURE_THRESHOLD
+                || Math.abs(sent.ambientExcludedTemperature() - current.ambientExcludedTemperature()) > TEMPERATURE_THRESHOLD
+                || sent.coldResistance() != current.coldResistance()
+                || sent.heatResistance() != current.heatResistance()
+                || flags(sent) != flags(current);
+    }
+
+    private static int flags(TemperatureSnapshot snapshot) {
+        return (snapshot.burnResistant() ? 1 : 0)
+                | (snapshot.freezeResistant() ? 1 << 1 : 0)
+                | (snapshot.onFire() ? 1 << 2 : 0)
+                | (snapshot.isPlayerCold() ? 1 << 3 : 0)
+                | (snapshot.isPlayerHot() ? 1 << 4 : 0)
+                | (snapshot.isAmbientFreezing() ? 1 << 5 : 0)
+                | (snapshot.isAmbientBurning() ? 1 << 6 : 0)
+                | (snapshot.isAmbientExtreme() ? 1 << 7 : 0);
+    }
+}
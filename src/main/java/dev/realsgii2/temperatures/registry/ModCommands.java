@@ -4,6 +4,7 @@ import com.mojang.brigadier.CommandDispatcher;
 import dev.realsgii2.temperatures.registry.commands.*;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraftforge.client.event.RegisterClientCommandsEvent;
+import net.minecraftforge.event.RegisterCommandsEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
 
@@ -18,4 +19,9 @@ public class ModCommands {
         new PositionCommand(dispatcher);
         new MuteConfigWarningCommand(dispatcher);
     }
+
+    @SubscribeEvent
+    public static void registerServer(RegisterCommandsEvent event) {
+        new DeterminantsCommand(event.getDispatcher());
+    }
 }
@@ -11,6 +11,12 @@ import net.minecraft.world.damagesource.DamageType;
 import net.minecraftforge.event.TickEvent;
 
 public class ModDamageSources {
+    /**
+     * The damage sources created for the last RegistryAccess requested, reused while it stays the same.
+     */
+    private static volatile ModDamageSources cached = null;
+
+    private final RegistryAccess registry;
     private final Registry<DamageType> damageTypes;
 
     public final DamageSource FREEZE;
@@ -18,6 +24,7 @@ public class ModDamageSources {
     public final DamageSource HEAT;
 
     public ModDamageSources(RegistryAccess registry) {
+        this.registry = registry;
         damageTypes = registry.registryOrThrow(Registries.DAMAGE_TYPE);
 
         FREEZE = source(ModDamageTypes.FREEZE);
@@ -26,7 +33,22 @@ public class ModDamageSources {
     }
 
     public static ModDamageSources fromEvent(TickEvent.PlayerTickEvent event) {
-        return new ModDamageSources(event.player.level().registryAccess());
+        return of(event.player.level().registryAccess());
+    }
+
+    /**
+     * Gets the damage sources of a RegistryAccess, only creating them if it changed since the last call.
+     * @param registry The RegistryAccess to get damage types from.
+     */
+    public static ModDamageSources of(RegistryAccess registry) {
+        ModDamageSources sources = cached;
+
+        if (sources == null || sources.registry != registry) {
+            sources = new ModDamageSources(registry);
+            cached = sources;
+        }
+
+        return sources;
     }
 
     private DamageSource source(ResourceKey<DamageType> damageTypeKey) {
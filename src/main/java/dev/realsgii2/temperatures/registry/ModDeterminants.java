@@ -23,6 +23,11 @@ public class ModDeterminants {
     public static ResourceLocation ICE_WATER_KEY = ICE_WATER_DETERMINANT.getId();
     public static ResourceLocation WEATHER_KEY = WEATHER_DETERMINANT.getId();
 
+    /**
+     * A handle to every determinant except the ambient determinant.
+     */
+    public static final DeterminantRegistry.Handle WITHOUT_AMBIENT = DeterminantRegistry.handle(AMBIENT_KEY);
+
     public static void register(IEventBus eventBus) {
         registry.register(eventBus);
     }
@@ -0,0 +1,59 @@
+package dev.realsgii2.temperatures.registry.commands;
+
+import com.mojang.brigadier.Command;
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.context.CommandContext;
+import dev.realsgii2.temperatures.api.registry.determinant.DeterminantMonitor;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.network.chat.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shows how long every determinant takes to run on the server, and which ones are bypassed for going over budget.
+ * Unlike the other commands, this doesn't extend {@link BaseCommand}: it responds through the command source, so it
+ * also works from the server console.
+ */
+public class DeterminantsCommand {
+    public DeterminantsCommand(CommandDispatcher<CommandSourceStack> dispatcher) {
+        dispatcher.register(Commands.literal("temperatures")
+                .then(Commands.literal("determinants")
+                        .requires(source -> source.hasPermission(2))
+                        .executes(DeterminantsCommand::execute)));
+    }
+
+    @SuppressWarnings("SameReturnValue")
+    private static int execute(CommandContext<CommandSourceStack> command) {
+        CommandSourceStack source = command.getSource();
+        List<DeterminantMonitor.Report> reports = DeterminantMonitor.report();
+
+        if (reports.isEmpty()) {
+            source.sendSuccess(() -> Component.literal("No determinant has run yet"), false);
+            return Command.SINGLE_SUCCESS;
+        }
+
+        source.sendSuccess(() -> Component.literal("Recent run times (p50 / p95 / p99 / max):"), false);
+
+        for (DeterminantMonitor.Report report : reports) {
+            String line = String.format("%s: %s / %s / %s / %s over %d runs",
+                    report.name(),
+                    format(report.p50Nanos()), format(report.p95Nanos()), format(report.p99Nanos()),
+                    format(report.maxNanos()), report.runs());
+
+            if (report.bypassedNanos() > 0)
+                source.sendFailure(Component.literal(line + ", bypassed for " + TimeUnit.NANOSECONDS.toSeconds(report.bypassedNanos()) + "s more"));
+            else if (report.trips() > 0)
+                source.sendSuccess(() -> Component.literal(line + ", bypassed " + report.trips() + " time(s) before"), false);
+            else
+                source.sendSuccess(() -> Component.literal(line), false);
+        }
+
+        return Command.SINGLE_SUCCESS;
+    }
+
+    private static String format(long nanos) {
+        return String.format("%.1f\u00b5s", nanos / 1000.0);
+    }
+}
@@ -1,59 +1,214 @@
 package dev.realsgii2.temperatures.registry.determinants;
 
-import dev.realsgii2.temperatures.Config;
-import dev.realsgii2.temperatures.Util;
+import dev.realsgii2.temperatures.api.registry.determinant.DeterminantProfile;
 import dev.realsgii2.temperatures.api.registry.determinant.IDeterminant;
+import dev.realsgii2.temperatures.api.world.TemperatureWorldView;
+import dev.realsgii2.temperatures.handler.world.WarmBlockIndex;
+import dev.realsgii2.temperatures.handler.world.WarmthTable;
 import net.minecraft.core.BlockPos;
-import net.minecraft.core.Registry;
-import net.minecraft.core.registries.Registries;
-import net.minecraft.world.entity.player.Player;
-import net.minecraft.world.level.block.Block;
-import net.minecraft.world.level.block.state.BlockState;
-
-import java.util.Objects;
-import java.util.Optional;
+import net.minecraft.core.SectionPos;
+import net.minecraft.util.Mth;
+import net.minecraft.world.level.Level;
 
 /**
  * Offsets the temperature by the warmth or cold emitted by surrounding blocks.
  */
 public class AmbientDeterminant implements IDeterminant.INameableDeterminant {
+    /**
+     * The squared distance at which a block's warmth has completely faded.
+     */
+    private static final int FALLOFF_DISTANCE_SQR = 16;
+
+    /**
+     * The furthest horizontal distance a block can be while still within {@link #FALLOFF_DISTANCE_SQR}.
+     * Profiles can lower it with {@link DeterminantProfile#AMBIENT_RADIUS}.
+     */
+    private static final int RADIUS = 3;
+
+    private static final int WIDTH = RADIUS * 2 + 1;
+
+    /**
+     * The Y offsets considered, in the order they're combined: the player's level, below, then above.
+     */
+    private static final int[] LEVELS = {0, -1, 1};
+
+    /**
+     * Every position of one level around the player within each radius, indexed by the radius.
+     */
+    private static final long[] ALL_CANDIDATES = new long[RADIUS + 1];
+
+    /**
+     * The position of the block being checked, for each thread.
+     */
+    private static final ThreadLocal<BlockPos.MutableBlockPos> BLOCK_POS = ThreadLocal.withInitial(BlockPos.MutableBlockPos::new);
+
+    static {
+        for (int radius = 0; radius <= RADIUS; radius++)
+            for (int dx = -radius; dx <= radius; dx++)
+                for (int dz = -radius; dz <= radius; dz++)
+                    ALL_CANDIDATES[radius] |= 1L << ((dx + RADIUS) * WIDTH + (dz + RADIUS));
+    }
+
     @Override
     public String getName() {
         return "ambient";
     }
 
     @Override
-    public double getTemperature(Player player, double result) {
+    public double getTemperature(TemperatureWorldView view, double result) {
+        Level level = view.level();
+        BlockPos centre = view.position();
+        BlockPos.MutableBlockPos blockPos = BLOCK_POS.get();
+        WarmBlockIndex index = level == null ? null : WarmBlockIndex.get(level);
+        WarmthTable table = WarmthTable.get();
+        int radius = Mth.clamp(DeterminantProfile.getInt(view, DeterminantProfile.AMBIENT_RADIUS, RADIUS), 0, RADIUS);
+
         double resultOffset = 0.0;
 
-        for (BlockPos blockPos : Util.World.getNearbyPositionsWithY(player.blockPosition(), (int) Math.pow(16, 2), 1)) {
-            BlockState state = player.level().getBlockState(blockPos);
+        for (int dy : LEVELS) {
+            // Blocks are visited by ascending X, then Z, as combining warmth of mixed signs depends on the order.
+            // Levels without an index (client levels) check every position of sections whose palette has warm blocks,
+            // and worlds that aren't loaded check every position.
+            long candidates = level == null ? ALL_CANDIDATES[radius]
+                    : index == null ? getPaletteCandidates(level, table, centre, dy, radius)
+                    : getIndexedCandidates(index, centre, dy, radius);
 
-            Optional<Registry<Block>> possibleBlockRegistry = player.level().registryAccess().registry(Registries.BLOCK);
-            if (possibleBlockRegistry.isEmpty()) continue;
+            while (candidates != 0) {
+                int bit = Long.numberOfTrailingZeros(candidates);
+                candidates &= candidates - 1;
 
-            String blockId = Objects.requireNonNull(possibleBlockRegistry.get().getKey(state.getBlock())).toString();
+                int dx = bit / WIDTH - RADIUS;
+                int dz = bit % WIDTH - RADIUS;
 
-            double magnitude = Math.abs(player.blockPosition().distSqr(blockPos));
-            if (Config.Common.isWarmBlock(blockId)) {
-                double thisOffset = Math.max(0, 1 - magnitude / 16) * Config.Common.getWarmth(blockId);
+                int distanceSqr = dx * dx + dy * dy + dz * dz;
+                if (distanceSqr >= FALLOFF_DISTANCE_SQR) continue;
 
-                // If the numbers have the same sign, get the highest value
-                if (Math.abs(thisOffset) > Math.abs(resultOffset)) resultOffset = thisOffset;
+                double warmth = table.getWarmth(view.getBlockState(blockPos.setWithOffset(centre, dx, dy, dz)));
+                if (Double.isNaN(warmth)) continue;
 
-                // If the signs are different, get the sum
-                if (Math.signum(thisOffset) != Math.signum(resultOffset)) resultOffset += thisOffset;
+                resultOffset = combine(resultOffset, falloff(distanceSqr, warmth));
             }
         }
 
         return result + resultOffset;
     }
 
+    /**
+     * Gets the positions of one level around the player that the index knows warm blocks at.
+     * @param index The index of the player's level.
+     * @param centre The player's position.
+     * @param dy The Y offset of the level.
+     * @param radius The furthest horizontal distance to check.
+     * @return A bit set where bit ((dx + RADIUS) * WIDTH + (dz + RADIUS)) is set if (dx, dy, dz) may be warm.
+     */
+    private static long getIndexedCandidates(WarmBlockIndex index, BlockPos centre, int dy, int radius) {
+        int y = centre.getY() + dy;
+        int localY = SectionPos.sectionRelative(y);
+        long candidates = 0L;
+
+        for (int sectionX = SectionPos.blockToSectionCoord(centre.getX() - radius); sectionX <= SectionPos.blockToSectionCoord(centre.getX() + radius); sectionX++) {
+            for (int sectionZ = SectionPos.blockToSectionCoord(centre.getZ() - radius); sectionZ <= SectionPos.blockToSectionCoord(centre.getZ() + radius); sectionZ++) {
+                WarmBlockIndex.Section section = index.section(sectionX, SectionPos.blockToSectionCoord(y), sectionZ);
+
+                for (int i = 0; i < section.size(); i++) {
+                    if (section.y(i) != localY) continue;
+
+                    int dx = SectionPos.sectionToBlockCoord(sectionX) + section.x(i) - centre.getX();
+                    int dz = SectionPos.sectionToBlockCoord(sectionZ) + section.z(i) - centre.getZ();
+
+                    if (Math.abs(dx) <= radius && Math.abs(dz) <= radius)
+                        candidates |= 1L << ((dx + RADIUS) * WIDTH + (dz + RADIUS));
+                }
+            }
+        }
+
+        return candidates;
+    }
+
+    /**
+     * Gets the positions of one level around the player that are in a section whose palette contains warm blocks.
+     * @param level The player's level.
+     * @param table The current warmth table.
+     * @param centre The player's position.
+     * @param dy The Y offset of the level.
+     * @param radius The furthest horizontal distance to check.
+     * @return A bit set where bit ((dx + RADIUS) * WIDTH + (dz + RADIUS)) is set if (dx, dy, dz) may be warm.
+     */
+    private static long getPaletteCandidates(Level level, WarmthTable table, BlockPos centre, int dy, int radius) {
+        int y = centre.getY() + dy;
+        int sectionIndex = level.getSectionIndex(y);
+        if (sectionIndex < 0 || sectionIndex >= level.getSectionsCount()) return 0L;
+
+        long candidates = 0L;
+
+        for (int sectionX = SectionPos.blockToSectionCoord(centre.getX() - radius); sectionX <= SectionPos.blockToSectionCoord(centre.getX() + radius); sectionX++) {
+            for (int sectionZ = SectionPos.blockToSectionCoord(centre.getZ() - radius); sectionZ <= SectionPos.blockToSectionCoord(centre.getZ() + radius); sectionZ++) {
+                if (!table.mayContainWarm(level.getChunk(sectionX, sectionZ).getSection(sectionIndex))) continue;
+
+                int minX = Math.max(SectionPos.sectionToBlockCoord(sectionX), centre.getX() - radius) - centre.getX();
+                int maxX = Math.min(SectionPos.sectionToBlockCoord(sectionX, 15), centre.getX() + radius) - centre.getX();
+                int minZ = Math.max(SectionPos.sectionToBlockCoord(sectionZ), centre.getZ() - radius) - centre.getZ();
+                int maxZ = Math.min(SectionPos.sectionToBlockCoord(sectionZ, 15), centre.getZ() + radius) - centre.getZ();
+
+                for (int dx = minX; dx <= maxX; dx++)
+                    for (int dz = minZ; dz <= maxZ; dz++)
+                        candidates |= 1L << ((dx + RADIUS) * WIDTH + (dz + RADIUS));
+            }
+        }
+
+        return candidates;
+    }
+
+    /**
+     * Gets how much of a block's warmth reaches the player.
+     * @param distanceSqr The squared distance between the block and the player.
+     * @param warmth The configured warmth of the block.
+     */
+    private static double falloff(int distanceSqr, double warmth) {
+        return Math.max(0, 1 - distanceSqr / (double) FALLOFF_DISTANCE_SQR) * warmth;
+    }
+
+    /**
+     * Combines the warmth of a block with the warmth of the blocks before it.
+     * @param resultOffset The combined warmth so far.
+     * @param thisOffset The warmth of this block.
+     */
+    private static double combine(double resultOffset, double thisOffset) {
+        // If the numbers have the same sign, get the highest value
+        if (Math.abs(thisOffset) > Math.abs(resultOffset)) resultOffset = thisOffset;
+
+        // If the signs are different, get the sum
+        if (Math.signum(thisOffset) != Math.signum(resultOffset)) resultOffset += thisOffset;
+
+        return resultOffset;
+    }
+
     @Override
-    public int overridePriority(Player player, double oldResult, double newResult) {
+    public int overridePriority(TemperatureWorldView view, double oldResult, double newResult) {
         return NO_OVERRIDE;
     }
 
+    @Override
+    public int overridePriorityBound(TemperatureWorldView view) {
+        return NO_OVERRIDE;
+    }
+
+    @Override
+    public int estimatedCost() {
+        return 500;
+    }
+
+    @Override
+    public double contributionBound(TemperatureWorldView view) {
+        // Combining warmth never goes past the warmest or coldest block.
+        return WarmthTable.get().maxWarmth();
+    }
+
+    @Override
+    public int dependencies() {
+        return POSITION | DIMENSION | NEARBY_BLOCKS;
+    }
+
     @Override
     public int order() {
         return NO_ORDER;
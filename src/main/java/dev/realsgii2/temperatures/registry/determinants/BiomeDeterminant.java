@@ -2,40 +2,75 @@ package dev.realsgii2.temperatures.registry.determinants;
 
 import dev.realsgii2.temperatures.Config;
 import dev.realsgii2.temperatures.Util;
+import dev.realsgii2.temperatures.api.registry.determinant.DeterminantProfile;
 import dev.realsgii2.temperatures.api.registry.determinant.IDeterminant;
-import net.minecraft.world.entity.player.Player;
+import dev.realsgii2.temperatures.api.world.TemperatureWorldView;
+import dev.realsgii2.temperatures.handler.world.BiomeTable;
+import dev.realsgii2.temperatures.handler.world.BiomeTemperatureField;
+import net.minecraft.core.Holder;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.util.Mth;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.biome.Biome;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 /**
  * The basis of Temperatures: gets the temperature of biomes, and blends
- * between multiple if needed.
+ * between multiple if needed. Blended temperatures are read from the
+ * {@link BiomeTemperatureField} of the level, when it is loaded.
  */
 @SuppressWarnings("unused")
 public class BiomeDeterminant implements IDeterminant.INameableDeterminant {
+    /**
+     * The amount of biomes sampled by default. Profiles can lower it with {@link DeterminantProfile#BIOME_SAMPLES}.
+     */
+    private static final int SAMPLES = 64;
+
     @Override
     public String getName() {
         return "biome";
     }
 
     @Override
-    public double getTemperature(Player player, double result) {
-        Level level = player.level();
+    public double getTemperature(TemperatureWorldView view, double result) {
+        double timeValue = getTimeValue(view.dayTime());
+
+        Level level = view.level();
+        if (level != null)
+            return result + BiomeTemperatureField.get(level).getTemperature(level, view, view.position(), timeValue);
+
+        // Worlds that aren't loaded have no field, so their biomes are blended every time.
+        double day = 0.0;
+        double night = 0.0;
 
-        List<Util.Pair<Biome, Double>> nearbyBiomes = Util.World.getNearbyWeightedBiomes(player);
-        result += Util.Mathf.weightedAverage(nearbyBiomes.stream().map(x -> Util.Pair.of(getBiomeTemperature(level, x.first), x.second)).collect(Collectors.toList()));
+        for (Util.Pair<Holder<Biome>, Double> biome : Util.World.getNearbyWeightedBiomeHolders(view, view.position(), getSamples(view.dimension()))) {
+            Config.Common.BiomeData biomeData = BiomeTable.find(biome.first);
+            if (biomeData == null) continue;
 
-        return result;
+            day += biomeData.dayTemperature() * biome.second;
+            night += biomeData.nightTemperature() * biome.second;
+        }
+
+        return result + Util.Mathf.lerp(night, day, timeValue);
+    }
+
+    @Override
+    public int overridePriority(TemperatureWorldView view, double oldResult, double newResult) {
+        return NO_OVERRIDE;
     }
 
     @Override
-    public int overridePriority(Player player, double oldResult, double newResult) {
+    public int overridePriorityBound(TemperatureWorldView view) {
         return NO_OVERRIDE;
     }
 
+    /**
+     * Gets the amount of biomes sampled to blend biome temperatures in a dimension.
+     * @param dimension The dimension to blend biomes in.
+     */
+    public static int getSamples(ResourceKey<Level> dimension) {
+        return Mth.clamp(DeterminantProfile.getInt(dimension, DeterminantProfile.BIOME_SAMPLES, SAMPLES), 1, SAMPLES);
+    }
+
     /**
      * Gets the current temperature of a biome, at the current time of day.
      * @param biome The biome to get the temperature of.
@@ -51,15 +86,26 @@ public class BiomeDeterminant implements IDeterminant.INameableDeterminant {
      * @param biomeData The BiomeData of the biome to get the temperature of.
      */
     public static double getBiomeTemperature(Level level, Config.Common.BiomeData biomeData) {
-        return Util.Mathf.lerp(biomeData.nightTemperature(), biomeData.dayTemperature(), getTimeValue(level));
+        return Util.Mathf.lerp(biomeData.nightTemperature(), biomeData.dayTemperature(), getTimeValue(level.getDayTime()));
     }
 
     /**
      * Gets the progress of the current day, from 0 to 1.
-     * @param level The level to consider.
+     * @param dayTime The time of day, in ticks.
      */
-    private static double getTimeValue(Level level) {
-        return Math.sin(level.getDayTime() / (12000 / Math.PI)) / 2 + 0.5;
+    private static double getTimeValue(long dayTime) {
+        return Math.sin(dayTime / (12000 / Math.PI)) / 2 + 0.5;
+    }
+
+    @Override
+    public int estimatedCost() {
+        // A lookup in the biome field, once its cell has been blended.
+        return 100;
+    }
+
+    @Override
+    public int dependencies() {
+        return POSITION | DIMENSION | TIME_BUCKET;
     }
 
     @Override
@@ -1,8 +1,8 @@
 package dev.realsgii2.temperatures.registry.determinants;
 
 import dev.realsgii2.temperatures.api.registry.determinant.IDeterminant;
+import dev.realsgii2.temperatures.api.world.TemperatureWorldView;
 import net.minecraft.resources.ResourceKey;
-import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.level.Level;
 
 /**
@@ -16,8 +16,8 @@ public class DimensionDeterminant implements IDeterminant.INameableDeterminant {
     }
 
     @Override
-    public double getTemperature(Player player, double result) {
-        ResourceKey<Level> dimension = player.level().dimension();
+    public double getTemperature(TemperatureWorldView view, double result) {
+        ResourceKey<Level> dimension = view.dimension();
 
         if (dimension == Level.NETHER)
             return 3.0;
@@ -26,8 +26,33 @@ public class DimensionDeterminant implements IDeterminant.INameableDeterminant {
     }
 
     @Override
-    public int overridePriority(Player player, double oldResult, double newResult) {
-        return oldResult != newResult ? 100 : 0;
+    public int overridePriority(TemperatureWorldView view, double oldResult, double newResult) {
+        return view.dimension() == Level.NETHER ? 100 : 0;
+    }
+
+    @Override
+    public int overridePriorityBound(TemperatureWorldView view) {
+        return view.dimension() == Level.NETHER ? 100 : 0;
+    }
+
+    @Override
+    public int guaranteedOverridePriority(TemperatureWorldView view) {
+        return view.dimension() == Level.NETHER ? 100 : NO_OVERRIDE;
+    }
+
+    @Override
+    public int estimatedCost() {
+        return 10;
+    }
+
+    @Override
+    public double contributionBound(TemperatureWorldView view) {
+        return view.dimension() == Level.NETHER ? Double.POSITIVE_INFINITY : 0.0;
+    }
+
+    @Override
+    public int dependencies() {
+        return DIMENSION;
     }
 
     @Override
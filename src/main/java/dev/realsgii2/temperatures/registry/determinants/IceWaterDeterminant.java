@@ -1,7 +1,7 @@
 package dev.realsgii2.temperatures.registry.determinants;
 
 import dev.realsgii2.temperatures.api.registry.determinant.IDeterminant;
-import net.minecraft.world.entity.player.Player;
+import dev.realsgii2.temperatures.api.world.TemperatureWorldView;
 
 /**
  * Freezes the player if they're in water in a cold biome.
@@ -14,18 +14,39 @@ public class IceWaterDeterminant implements IDeterminant.INameableDeterminant {
     }
 
     @Override
-    public double getTemperature(Player player, double result) {
-        if (player.isInWater() && result < -1.0)
+    public double getTemperature(TemperatureWorldView view, double result) {
+        if (view.isInWater() && result < -1.0)
             return -3.0;
 
         return result;
     }
 
     @Override
-    public int overridePriority(Player player, double oldResult, double newResult) {
+    public int overridePriority(TemperatureWorldView view, double oldResult, double newResult) {
         return newResult == -3.0 ? 100 : 0;
     }
 
+    @Override
+    public int overridePriorityBound(TemperatureWorldView view) {
+        // A result of -3 from before this determinant overrides too, even out of water.
+        return 100;
+    }
+
+    @Override
+    public int estimatedCost() {
+        return 10;
+    }
+
+    @Override
+    public double contributionBound(TemperatureWorldView view) {
+        return view.isInWater() ? Double.POSITIVE_INFINITY : 0.0;
+    }
+
+    @Override
+    public int dependencies() {
+        return IN_WATER;
+    }
+
     @Override
     public int order() {
         // Run right after the biome determinant is run:
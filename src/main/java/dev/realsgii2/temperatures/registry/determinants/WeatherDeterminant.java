@@ -2,7 +2,7 @@ package dev.realsgii2.temperatures.registry.determinants;
 
 import dev.realsgii2.temperatures.Config;
 import dev.realsgii2.temperatures.api.registry.determinant.IDeterminant;
-import net.minecraft.world.entity.player.Player;
+import dev.realsgii2.temperatures.api.world.TemperatureWorldView;
 import net.minecraft.world.level.biome.Biome;
 
 /**
@@ -16,24 +16,46 @@ public class WeatherDeterminant implements IDeterminant.INameableDeterminant {
     }
 
     @Override
-    public double getTemperature(Player player, double result) {
+    public double getTemperature(TemperatureWorldView view, double result) {
         // Determine if it's raining or snowing
-        Biome currentBiome = player.level().getBiome(player.blockPosition()).get();
+        Biome currentBiome = view.getBiome(view.position()).get();
 
-        if (player.level().isRaining() && currentBiome.hasPrecipitation())
-            if (currentBiome.coldEnoughToSnow(player.blockPosition()))
-                result += Config.Common.getDiffInSnow() * player.level().rainLevel;
+        if (view.isRaining() && currentBiome.hasPrecipitation())
+            if (currentBiome.coldEnoughToSnow(view.position()))
+                result += Config.Common.getDiffInSnow() * view.rainLevel();
             else
-                result += Config.Common.getDiffInRain() * player.level().rainLevel;
+                result += Config.Common.getDiffInRain() * view.rainLevel();
 
         return result;
     }
 
     @Override
-    public int overridePriority(Player player, double oldResult, double newResult) {
+    public int overridePriority(TemperatureWorldView view, double oldResult, double newResult) {
         return NO_OVERRIDE;
     }
 
+    @Override
+    public int overridePriorityBound(TemperatureWorldView view) {
+        return NO_OVERRIDE;
+    }
+
+    @Override
+    public int estimatedCost() {
+        return 50;
+    }
+
+    @Override
+    public double contributionBound(TemperatureWorldView view) {
+        if (!view.isRaining()) return 0.0;
+
+        return Math.max(Math.abs(Config.Common.getDiffInRain()), Math.abs(Config.Common.getDiffInSnow())) * view.rainLevel();
+    }
+
+    @Override
+    public int dependencies() {
+        return POSITION | DIMENSION | WEATHER;
+    }
+
     @Override
     public int order() {
         return NO_ORDER;